@@ -12,6 +12,7 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -28,24 +29,34 @@ public class BookingClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> findByBookerAndState(long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> findByBookerAndState(long userId, State state, Integer from, Integer size, String cursor) {
+        return findByState("", userId, state, from, size, cursor);
     }
 
-    public ResponseEntity<Object> findByOwnerAndState(long userId, State state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> findByOwnerAndState(long userId, State state, Integer from, Integer size, String cursor) {
+        return findByState("/owner", userId, state, from, size, cursor);
     }
 
+    public ResponseEntity<Object> countByBookerAndState(long userId, State state) {
+        return get("/total?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    public ResponseEntity<Object> countByOwnerAndState(long userId, State state) {
+        return get("/owner/total?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    private ResponseEntity<Object> findByState(String path, long userId, State state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        StringBuilder uri = new StringBuilder(path).append("?state={state}&from={from}&size={size}");
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            uri.append("&cursor={cursor}");
+        }
+        return get(uri.toString(), userId, parameters);
+    }
 
     public ResponseEntity<Object> saveBooking(long userId, BookingDto requestDto) {
         return post("", userId, requestDto);
@@ -51,22 +51,38 @@ public class BookingController {
     public ResponseEntity<Object> findByBookerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
                                                        @RequestParam(defaultValue = "ALL") String state,
                                                        @RequestParam(defaultValue = "0") @Min(value = 0) Integer from,
-                                                       @RequestParam(defaultValue = "20") @Positive Integer size) {
+                                                       @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                       @RequestParam(required = false) String cursor) {
         log.info("Получен запрос GET, на получение списка всех бронирований текущего пользователя: {}", userId);
-        return bookingClient.findByBookerAndState(userId, validState(state), from, size);
+        return bookingClient.findByBookerAndState(userId, validState(state), from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findByOwnerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
                                                       @RequestParam(defaultValue = "ALL") String state,
                                                       @RequestParam(defaultValue = "0") @Min(value = 0) Integer from,
-                                                      @RequestParam(defaultValue = "20") @Positive Integer size) {
+                                                      @RequestParam(defaultValue = "20") @Positive Integer size,
+                                                      @RequestParam(required = false) String cursor) {
         log.info("Получен запрос GET, на получение списка бронирований " +
                 "для всех вещей текущего пользователя: {}", userId);
-        ResponseEntity<Object> bookingOutDtoList = bookingClient.findByOwnerAndState(userId, validState(state), from, size);
+        ResponseEntity<Object> bookingOutDtoList = bookingClient.findByOwnerAndState(userId, validState(state), from, size, cursor);
         return bookingOutDtoList;
     }
 
+    @GetMapping("/total")
+    public ResponseEntity<Object> countByBookerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                        @RequestParam(defaultValue = "ALL") String state) {
+        log.info("Получен запрос GET, на получение числа бронирований текущего пользователя: {}", userId);
+        return bookingClient.countByBookerAndState(userId, validState(state));
+    }
+
+    @GetMapping("/owner/total")
+    public ResponseEntity<Object> countByOwnerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                       @RequestParam(defaultValue = "ALL") String state) {
+        log.info("Получен запрос GET, на получение числа бронирований вещей текущего пользователя: {}", userId);
+        return bookingClient.countByOwnerAndState(userId, validState(state));
+    }
+
     private State validState(String state) {
         try {
             return State.valueOf(state);
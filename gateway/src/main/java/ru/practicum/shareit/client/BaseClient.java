@@ -2,14 +2,24 @@ package ru.practicum.shareit.client;
 
 
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
     protected final RestTemplate rest;
 
     public BaseClient(RestTemplate rest) {
@@ -76,6 +86,41 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Проксирует потоковый ответ сервера (application/x-ndjson) кусками по мере их получения, не собирая его в памяти.
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Collections.emptyMap());
+        ClientHttpResponse response;
+        HttpStatus status;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().putAll(defaultHeaders(userId));
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            response = request.execute();
+            status = response.getStatusCode();
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка запроса " + uri + ": " + e.getMessage(), e);
+        }
+        StreamingResponseBody body = out -> {
+            try (response) {
+                InputStream in = response.getBody();
+                byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            }
+        };
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+        return responseBuilder.body(body);
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
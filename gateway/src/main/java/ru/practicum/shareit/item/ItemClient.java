@@ -6,11 +6,15 @@ import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -35,15 +39,62 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchBy(String text, Integer from, Integer size) {
+    public ResponseEntity<Object> countItemsOwner(long userId) {
+        return get("/total", userId);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamAllItemsOwner(long userId) {
+        return stream("", userId, null);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamSearch(String text) {
+        return stream("/search?text={text}", null, Map.of("text", text));
+    }
+
+    public ResponseEntity<Object> searchBy(String text, Integer from, Integer size, String cursor,
+                                           LocalDateTime start, LocalDateTime end,
+                                           boolean facets, Integer facetSize) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        StringBuilder path = new StringBuilder("/search?text={text}&from={from}&size={size}");
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            path.append("&cursor={cursor}");
+        }
+        if (start != null && end != null) {
+            parameters.put("start", start);
+            parameters.put("end", end);
+            path.append("&start={start}&end={end}");
+        }
+        if (facets) {
+            parameters.put("facetSize", facetSize);
+            path.append("&facets=true&facetSize={facetSize}");
+        }
+        return get(path.toString(), null, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(String prefix, Integer size) {
         Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from,
+                "prefix", prefix,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return get("/search/suggest?prefix={prefix}&size={size}", null, parameters);
+    }
+
+
+    public ResponseEntity<Object> availability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
     }
 
+    public ResponseEntity<Object> availability(ItemAvailabilityRequestDto request) {
+        return post("/availability", request);
+    }
 
     public ResponseEntity<Object> saveItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
@@ -2,16 +2,22 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.constant.ItemConstants.X_SHARER_USER_ID;
 
@@ -55,16 +61,66 @@ public class ItemController {
         return itemClient.getAllItemsOwner(ownerId, from, size);
     }
 
+    @GetMapping("/total")
+    public ResponseEntity<Object> countItemsOwner(@RequestHeader(X_SHARER_USER_ID) Long ownerId) {
+        log.info("Получен запрос GET, на получение числа предметов владельца: {}", ownerId);
+        return itemClient.countItemsOwner(ownerId);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItemsOwners(@RequestHeader(X_SHARER_USER_ID) Long ownerId) {
+        log.info("Получен запрос GET, на потоковую выгрузку всех предметов владельца: {}", ownerId);
+        return itemClient.streamAllItemsOwner(ownerId);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearch(@RequestParam String text) {
+        log.info("Получен запрос на потоковый поиск всех вещей по тексту: {}", text);
+        return itemClient.streamSearch(text);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Object> searchBy(@RequestParam String text,
                                            @RequestParam(defaultValue = "0") @Min(0) Integer from,
-                                           @RequestParam(defaultValue = "20") @Positive Integer size) {
+                                           @RequestParam(defaultValue = "20") @Positive Integer size,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                           @RequestParam(defaultValue = "false") boolean facets,
+                                           @RequestParam(defaultValue = "10") @Positive Integer facetSize) {
         log.info("Получен запрос на поиск всех вещей по тексту: " + text);
-        ResponseEntity<Object> items = itemClient.searchBy(text, from, size);
+        validPeriod(start, end);
+        ResponseEntity<Object> items = itemClient.searchBy(text, from, size, cursor, start, end, facets, facetSize);
         log.info("Отработан запрос на поиск всех вещей по тексту: " + text);
         return items;
     }
 
+    @GetMapping("/search/suggest")
+    public ResponseEntity<Object> suggest(@RequestParam String prefix,
+                                          @RequestParam(defaultValue = "10") @Positive Integer size) {
+        log.info("Получен запрос на подсказки по префиксу: {}", prefix);
+        return itemClient.suggest(prefix, size);
+    }
+
+    @PostMapping("/availability")
+    public ResponseEntity<Object> availability(@Valid @RequestBody ItemAvailabilityRequestDto request) {
+        log.info("Получен запрос на свободные даты {} вещей с {} по {}",
+                request.getItemIds().size(), request.getStart(), request.getEnd());
+        validPeriod(request.getStart(), request.getEnd());
+        return itemClient.availability(request);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> availability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получен запрос на свободные даты вещи {} с {} по {}", itemId, from, to);
+        validPeriod(from, to);
+        return itemClient.availability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@RequestHeader(X_SHARER_USER_ID) Long userId,
                                              @PathVariable Long itemId,
@@ -72,4 +128,16 @@ public class ItemController {
         log.info("Получен запрос на создание комментариев вещей под id - ", itemId);
         return itemClient.addComment(userId, itemId, requestDto);
     }
+
+    private static void validPeriod(LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            return;
+        }
+        if (start == null || end == null) {
+            throw new BadRequestException("Для поиска свободных вещей нужно указать обе даты");
+        }
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("Дата окончания должна быть позже даты начала");
+        }
+    }
 }
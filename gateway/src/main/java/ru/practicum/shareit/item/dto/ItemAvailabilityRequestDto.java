@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityRequestDto {
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull Long> itemIds;
+    @NotNull
+    private LocalDateTime start;
+    @NotNull
+    private LocalDateTime end;
+}
@@ -42,6 +42,10 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> countByAll(Long userId) {
+        return get("/all/total", userId);
+    }
+
     public ResponseEntity<Object> findById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
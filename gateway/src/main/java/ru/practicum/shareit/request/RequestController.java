@@ -45,6 +45,12 @@ public class RequestController {
         return requestDtoList;
     }
 
+    @GetMapping("/all/total")
+    public ResponseEntity<Object> countByAll(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+        log.info("Получен запрос GET, на получение числа всех запросов.");
+        return requestClient.countByAll(userId);
+    }
+
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> findById(@RequestHeader(X_SHARER_USER_ID) Long userId,
                                            @PathVariable Long requestId) {
@@ -3,13 +3,18 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.listing.ListingResponses;
+import ru.practicum.shareit.listing.dto.TotalDto;
 
 import java.util.List;
 
+import static ru.practicum.shareit.item.constant.ItemConstants.X_NEXT_CURSOR;
 import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
 
 @Slf4j
@@ -43,22 +48,51 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingOutDto> findByBookerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                    @RequestParam State state,
-                                                    @RequestParam Integer from,
-                                                    @RequestParam Integer size) {
+    public ResponseEntity<List<BookingOutDto>> findByBookerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                    @RequestParam State state,
+                                                                    @RequestParam Integer from,
+                                                                    @RequestParam Integer size,
+                                                                    @RequestParam(required = false) String cursor) {
         log.info("Получен запрос GET, на получение списка всех бронирований текущего пользователя: {}", userId);
-        return bookingService.findByBookerAndState(userId, state, from, size);
+        if (cursor == null) {
+            return ListingResponses.of(bookingService.findByBookerAndState(userId, state, from, size));
+        }
+        return page(bookingService.findByBookerAfter(userId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDto> findByOwnerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                   @RequestParam State state,
-                                                   @RequestParam Integer from,
-                                                   @RequestParam Integer size) {
+    public ResponseEntity<List<BookingOutDto>> findByOwnerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                   @RequestParam State state,
+                                                                   @RequestParam Integer from,
+                                                                   @RequestParam Integer size,
+                                                                   @RequestParam(required = false) String cursor) {
         log.info("Получен запрос GET, на получение списка бронирований " +
                 "для всех вещей текущего пользователя: {}", userId);
-        List<BookingOutDto> bookingOutDtoList = bookingService.findByOwnerAndState(userId, state, from, size);
-        return bookingOutDtoList;
+        if (cursor == null) {
+            return ListingResponses.of(bookingService.findByOwnerAndState(userId, state, from, size));
+        }
+        return page(bookingService.findByOwnerAfter(userId, state, cursor, size));
+    }
+
+    @GetMapping("/total")
+    public TotalDto countByBookerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                          @RequestParam State state) {
+        log.info("Получен запрос GET, на получение числа бронирований текущего пользователя: {}", userId);
+        return new TotalDto(bookingService.countByBookerAndState(userId, state));
+    }
+
+    @GetMapping("/owner/total")
+    public TotalDto countByOwnerAndState(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                         @RequestParam State state) {
+        log.info("Получен запрос GET, на получение числа бронирований вещей текущего пользователя: {}", userId);
+        return new TotalDto(bookingService.countByOwnerAndState(userId, state));
+    }
+
+    private static ResponseEntity<List<BookingOutDto>> page(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(X_NEXT_CURSOR, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
@@ -1,44 +1,130 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingCursor;
+import ru.practicum.shareit.booking.query.BookingFilter;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Optional<Booking> findBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(Long id, Long bookerId, Long bookingId, Long ownerId);
-
-    Page<Booking> findAllByBookerIdOrderByEndDesc(Long userId, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndEndLessThanOrderByEndDesc(Long userId, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStartGreaterThanOrderByEndDesc(Long userId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findAllByBookerIdAndStatusOrderByEndDesc(Long userId, Status status, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.ITEM_AND_BOOKER)
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findAllByItemOwnerIdOrderByStartDesc(Long userId, Pageable pageable);
+    @Query("select b.item.id from Booking b where b.id = ?1")
+    Optional<Long> findItemIdById(Long id);
 
-    Page<Booking> findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(Long userId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdAndEndLessThanOrderByStartDesc(Long userId, LocalDateTime end, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdAndStartGreaterThanOrderByStartDesc(Long userId, LocalDateTime start, Pageable pageable);
-
-    Page<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long userId, Status status, Pageable pageable);
-
-    List<Booking> findAllByItem_IdAndStatusIsNot(Long itemId, Status status);
+    @EntityGraph(Booking.ITEM_AND_BOOKER)
+    Optional<Booking> findBookingByIdAndBooker_IdOrIdAndItem_Owner_Id(Long id, Long bookerId, Long bookingId, Long ownerId);
 
-    Page<Booking> findAllByItem_IdInAndStatusIsNot(List<Long> itemIds, Status status, Pageable pageable);
+    @Query("select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :userId and b.status in :#{#filter.statuses} " +
+            "and b.start between :#{#filter.startFrom} and :#{#filter.startTo} " +
+            "and b.end between :#{#filter.endFrom} and :#{#filter.endTo} " +
+            "order by b.end desc, b.id desc")
+    Slice<Booking> findByBooker(@Param("userId") Long userId, @Param("filter") BookingFilter filter, Pageable pageable);
+
+    @Query("select b from Booking b join fetch b.item join fetch b.booker " +
+            "where b.booker.id = :userId and b.status in :#{#filter.statuses} " +
+            "and b.start between :#{#filter.startFrom} and :#{#filter.startTo} " +
+            "and b.end between :#{#filter.endFrom} and :#{#filter.endTo} " +
+            "and b.end <= :#{#after.key} and (b.end < :#{#after.key} or b.id < :#{#after.id}) " +
+            "order by b.end desc, b.id desc")
+    List<Booking> findByBookerAfter(@Param("userId") Long userId, @Param("filter") BookingFilter filter,
+                                    @Param("after") BookingCursor after, Pageable pageable);
+
+    @Query("select count(b) from Booking b " +
+            "where b.booker.id = :userId and b.status in :#{#filter.statuses} " +
+            "and b.start between :#{#filter.startFrom} and :#{#filter.startTo} " +
+            "and b.end between :#{#filter.endFrom} and :#{#filter.endTo}")
+    long countByBooker(@Param("userId") Long userId, @Param("filter") BookingFilter filter);
+
+    @Query("select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.status in :#{#filter.statuses} " +
+            "and b.start between :#{#filter.startFrom} and :#{#filter.startTo} " +
+            "and b.end between :#{#filter.endFrom} and :#{#filter.endTo} " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findByOwner(@Param("ownerId") Long ownerId, @Param("filter") BookingFilter filter, Pageable pageable);
+
+    @Query("select b from Booking b join fetch b.item i join fetch b.booker " +
+            "where i.owner.id = :ownerId and b.status in :#{#filter.statuses} " +
+            "and b.start between :#{#filter.startFrom} and :#{#filter.startTo} " +
+            "and b.end between :#{#filter.endFrom} and :#{#filter.endTo} " +
+            "and b.start <= :#{#after.key} and (b.start < :#{#after.key} or b.id < :#{#after.id}) " +
+            "order by b.start desc, b.id desc")
+    List<Booking> findByOwnerAfter(@Param("ownerId") Long ownerId, @Param("filter") BookingFilter filter,
+                                   @Param("after") BookingCursor after, Pageable pageable);
+
+    @Query("select count(b) from Booking b " +
+            "where b.item.owner.id = :ownerId and b.status in :#{#filter.statuses} " +
+            "and b.start between :#{#filter.startFrom} and :#{#filter.startTo} " +
+            "and b.end between :#{#filter.endFrom} and :#{#filter.endTo}")
+    long countByOwner(@Param("ownerId") Long ownerId, @Param("filter") BookingFilter filter);
+
+    /**
+     * Для каждой вещи из списка возвращает не больше двух строк: последнее и следующее бронирование.
+     * Оконные функции есть и в Postgres, и в H2, поэтому один и тот же SQL работает в обеих базах.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "select r.item_id as \"itemId\", r.id as \"id\", r.booker_id as \"bookerId\", " +
+            "r.start_date as \"start\", r.end_date as \"end\", r.is_last as \"last\" " +
+            "from (select b.item_id, b.id, b.booker_id, b.start_date, b.end_date, true as is_last, " +
+            "row_number() over (partition by b.item_id order by b.start_date desc, b.id desc) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.start_date < :now and b.booking_status <> :excluded " +
+            "union all " +
+            "select b.item_id, b.id, b.booker_id, b.start_date, b.end_date, false as is_last, " +
+            "row_number() over (partition by b.item_id order by b.start_date, b.id) as rn " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.start_date > :now and b.booking_status <> :excluded) r " +
+            "where r.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("excluded") String excluded,
+                                                  @Param("now") LocalDateTime now);
+
+    @Query("select distinct b.item.id from Booking b where b.item.id > ?1 order by b.item.id")
+    List<Long> findBookedItemIdsAfter(Long afterId, Pageable pageable);
 
     Boolean existsByItem_IdAndBooker_IdAndStatusAndEndIsBefore(
             Long itemId, Long userId, Status status, LocalDateTime currentTime
     );
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "from Booking b " +
+            "where b.status in ?1 and b.end > ?2 and b.id > ?3 " +
+            "order by b.id")
+    List<BookingDto> findAllActiveAfter(Collection<Status> statuses, LocalDateTime endAfter, Long afterId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "from Booking b " +
+            "where (b.booker.id = ?1 or b.item.owner.id = ?1) and b.status in ?2 and b.end > ?3")
+    List<BookingDto> findActiveByParticipant(Long userId, Collection<Status> statuses, LocalDateTime endAfter);
+
+    @Query("select distinct b.item.id from Booking b where b.booker.id = ?1 and b.item.owner.id <> ?1 order by b.item.id")
+    List<Long> findBookedItemIdsByBooker(Long bookerId);
+
+    @Query("select case when count(b) > 0 then true else false end " +
+            "from Booking b " +
+            "where b.item.id = ?1 and b.start < ?3 and b.end > ?2 and b.status in ?4 and b.id <> ?5")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Collection<Status> statuses, Long excludeId);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.item.id, b.booker.id, b.status) " +
+            "from Booking b " +
+            "where b.item.id in ?1 and b.start < ?3 and b.end > ?2 and b.status in ?4 " +
+            "order by b.item.id, b.start")
+    List<BookingDto> findBusyIntervals(Collection<Long> itemIds, LocalDateTime from, LocalDateTime to, Collection<Status> statuses);
 }
@@ -1,10 +1,11 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.enums.State;
 
-import java.util.List;
 
 public interface BookingService {
     BookingOutDto findById(Long userId, Long bookingId);
@@ -13,7 +14,18 @@ public interface BookingService {
 
     BookingOutDto updateBooking(Long userId, Long id, Boolean approved);
 
-    List<BookingOutDto> findByBookerAndState(Long userId, State state, Integer from, Integer size);
+    Slice<BookingOutDto> findByBookerAndState(Long userId, State state, Integer from, Integer size);
 
-    List<BookingOutDto> findByOwnerAndState(Long userId, State state, Integer from, Integer size);
+    Slice<BookingOutDto> findByOwnerAndState(Long userId, State state, Integer from, Integer size);
+
+    /**
+     * Приблизительное число бронирований арендатора в состоянии; значение кешируется и может отставать.
+     */
+    long countByBookerAndState(Long userId, State state);
+
+    long countByOwnerAndState(Long userId, State state);
+
+    BookingPageDto findByBookerAfter(Long userId, State state, String cursor, Integer size);
+
+    BookingPageDto findByOwnerAfter(Long userId, State state, String cursor, Integer size);
 }
@@ -2,27 +2,38 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingCursor;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.booking.schedule.BookingChangedEvent;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.booking.schedule.ItemBookingLocks;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.exception.UnsupportedStatus;
 import ru.practicum.shareit.item.dto.ItemOutDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.listing.ListingTotals;
 import ru.practicum.shareit.user.dto.UserOutDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 import static ru.practicum.shareit.booking.enums.Status.*;
 
@@ -37,6 +48,11 @@ public class BookingServiceImpl implements BookingService {
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
+    private final BookingSchedule bookingSchedule;
+    private final ItemBookingLocks itemBookingLocks;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListingTotals listingTotals;
 
     @Override
     public BookingOutDto findById(Long userId, Long bookingId) {
@@ -58,9 +74,16 @@ public class BookingServiceImpl implements BookingService {
         if (itemRepository.existsByIdAndOwner_Id(bookingDto.getItemId(), userId)) {
             throw new NotFoundException("Нельзя бронировать свою вещь");
         }
+        itemBookingLocks.lockUntilCompletion(bookingDto.getItemId());
+        if (bookingSchedule.hasConflict(bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd(), null)) {
+            throw new BadRequestException("Вещь " + bookingDto.getItemId() + " уже забронирована на эти даты");
+        }
         bookingDto.setBookerId(userId);
         bookingDto.setStatus(WAITING);
-        BookingOutDto bookingOutDto = bookingMapper.toOutDTO(bookingRepository.save(bookingMapper.toModel(bookingDto)));
+        Booking saved = saveChecked(bookingMapper.toModel(bookingDto), bookingDto.getItemId());
+        itemBookingSummaries.refresh(List.of(bookingDto.getItemId()), LocalDateTime.now());
+        eventPublisher.publishEvent(new BookingChangedEvent(bookingMapper.toDTO(saved)));
+        BookingOutDto bookingOutDto = bookingMapper.toOutDTO(saved);
         bookingOutDto.setItem(itemFromDb);
         bookingOutDto.setBooker(userFromDb);
 
@@ -71,6 +94,9 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingOutDto updateBooking(Long userId, Long bookingId, Boolean approved) {
+        Long itemId = bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронь " + bookingId + " не найдена"));
+        itemBookingLocks.lockUntilCompletion(itemId);
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронь " + bookingId + " не найдена"));
         if (!booking.getItem().getOwner().getId().equals(userId)) {
@@ -80,6 +106,9 @@ public class BookingServiceImpl implements BookingService {
             if (booking.getStatus().equals(APPROVED)) {
                 throw new BadRequestException("Уже одобрено");
             }
+            if (bookingSchedule.hasConflict(booking.getItem().getId(), booking.getStart(), booking.getEnd(), bookingId)) {
+                throw new BadRequestException("Вещь " + booking.getItem().getId() + " уже забронирована на эти даты");
+            }
             booking.setStatus(APPROVED);
         } else if (approved.equals(false)) {
             if (booking.getStatus().equals(REJECTED)) {
@@ -87,58 +116,84 @@ public class BookingServiceImpl implements BookingService {
             }
             booking.setStatus(REJECTED);
         }
-        return bookingMapper.toOutDTO(bookingRepository.save(booking));
+        Booking saved = saveChecked(booking, booking.getItem().getId());
+        itemBookingSummaries.refresh(List.of(booking.getItem().getId()), LocalDateTime.now());
+        eventPublisher.publishEvent(new BookingChangedEvent(bookingMapper.toDTO(saved)));
+        return bookingMapper.toOutDTO(saved);
     }
 
     @Override
-    public List<BookingOutDto> findByBookerAndState(Long userId, State state, Integer from, Integer size) {
+    public Slice<BookingOutDto> findByBookerAndState(Long userId, State state, Integer from, Integer size) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь " + userId + " не найден"));
 
-        LocalDateTime now = LocalDateTime.now();
         Pageable pageable = PageRequest.of(from / size, size);
-
-        switch (state) {
-            case ALL:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByBookerIdOrderByEndDesc(userId, pageable).getContent());
-            case CURRENT:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(userId, now, now, pageable).getContent());
-            case PAST:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByBookerIdAndEndLessThanOrderByEndDesc(userId, now, pageable).getContent());
-            case FUTURE:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByBookerIdAndStartGreaterThanOrderByEndDesc(userId, now, pageable).getContent());
-            case WAITING:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByBookerIdAndStatusOrderByEndDesc(userId, WAITING, pageable).getContent());
-            case REJECTED:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByBookerIdAndStatusOrderByEndDesc(userId, REJECTED, pageable).getContent());
-            default:
-                throw new UnsupportedStatus("Unknown state: " + state);
-        }
+        return bookingRepository.findByBooker(userId, BookingFilter.of(state, LocalDateTime.now()), pageable)
+                .map(bookingMapper::toOutDTO);
     }
 
     @Override
-    public List<BookingOutDto> findByOwnerAndState(Long ownerId, State state, Integer from, Integer size) {
+    public Slice<BookingOutDto> findByOwnerAndState(Long ownerId, State state, Integer from, Integer size) {
         userRepository.findById(ownerId)
                 .orElseThrow(() -> new NotFoundException("Пользователь " + ownerId + " не найден"));
 
-        LocalDateTime now = LocalDateTime.now();
         Pageable pageable = PageRequest.of(from / size, size);
+        return bookingRepository.findByOwner(ownerId, BookingFilter.of(state, LocalDateTime.now()), pageable)
+                .map(bookingMapper::toOutDTO);
+    }
+
+    @Override
+    public long countByBookerAndState(Long userId, State state) {
+        BookingFilter filter = BookingFilter.of(state, LocalDateTime.now());
+        return listingTotals.get("bookings:booker:" + userId + ":" + state,
+                () -> bookingRepository.countByBooker(userId, filter));
+    }
+
+    @Override
+    public long countByOwnerAndState(Long ownerId, State state) {
+        BookingFilter filter = BookingFilter.of(state, LocalDateTime.now());
+        return listingTotals.get("bookings:owner:" + ownerId + ":" + state,
+                () -> bookingRepository.countByOwner(ownerId, filter));
+    }
+
+    @Override
+    public BookingPageDto findByBookerAfter(Long userId, State state, String cursor, Integer size) {
+        BookingCursor after = BookingCursor.decode(cursor);
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь " + userId + " не найден"));
+
+        List<Booking> bookings = bookingRepository.findByBookerAfter(userId, BookingFilter.of(state, LocalDateTime.now()),
+                after, PageRequest.of(0, size + 1));
+        return page(bookings, size, Booking::getEnd);
+    }
+
+    @Override
+    public BookingPageDto findByOwnerAfter(Long ownerId, State state, String cursor, Integer size) {
+        BookingCursor after = BookingCursor.decode(cursor);
+        userRepository.findById(ownerId)
+                .orElseThrow(() -> new NotFoundException("Пользователь " + ownerId + " не найден"));
+
+        List<Booking> bookings = bookingRepository.findByOwnerAfter(ownerId, BookingFilter.of(state, LocalDateTime.now()),
+                after, PageRequest.of(0, size + 1));
+        return page(bookings, size, Booking::getStart);
+    }
+
+    private BookingPageDto page(List<Booking> bookings, int size, Function<Booking, LocalDateTime> key) {
+        if (bookings.size() <= size) {
+            return new BookingPageDto(bookingMapper.toListOutDTO(bookings), null);
+        }
+        List<Booking> content = bookings.subList(0, size);
+        Booking last = content.get(size - 1);
+        return new BookingPageDto(bookingMapper.toListOutDTO(content),
+                new BookingCursor(key.apply(last), last.getId()).encode());
+    }
 
-        switch (state) {
-            case ALL:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable).getContent());
-            case CURRENT:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByStartDesc(ownerId, now, now, pageable).getContent());
-            case PAST:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByItemOwnerIdAndEndLessThanOrderByStartDesc(ownerId, now, pageable).getContent());
-            case FUTURE:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByItemOwnerIdAndStartGreaterThanOrderByStartDesc(ownerId, now, pageable).getContent());
-            case WAITING:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, WAITING, pageable).getContent());
-            case REJECTED:
-                return bookingMapper.toListOutDTO(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, REJECTED, pageable).getContent());
-            default:
-                throw new UnsupportedStatus("Unknown state: " + state);
+    private Booking saveChecked(Booking booking, Long itemId) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Пересечение броней вещи {} отклонено ограничением БД", itemId);
+            throw new BadRequestException("Вещь " + itemId + " уже забронирована на эти даты");
         }
     }
 
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Последнее или следующее бронирование вещи, прочитанное нативным запросом без сборки сущностей.
+ */
+public interface ItemBookingView {
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Boolean getLast();
+}
@@ -6,6 +6,7 @@ import org.mapstruct.Mappings;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.booking.dto.BookingShortOutDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.util.List;
@@ -29,5 +30,7 @@ public interface BookingMapper {
     @Mapping(source = "booker.id", target = "bookerId")
     BookingShortOutDto toShortOutDTO(BookingOutDto bookingOutDto);
 
+    BookingShortOutDto viewToShortOutDTO(ItemBookingView view);
+
     List<BookingOutDto> toListOutDTO(List<Booking> bookingList);
 }
@@ -11,6 +11,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.ITEM_AND_BOOKER, attributeNodes = {
+        @NamedAttributeNode("item"),
+        @NamedAttributeNode("booker")
+})
 @Getter
 @Setter
 @ToString
@@ -18,6 +22,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
+    public static final String ITEM_AND_BOOKER = "Booking.itemAndBooker";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор списка бронирований: ключ сортировки последней отданной брони —
+ * дата окончания для арендатора или дата начала для владельца — и её id.
+ */
+@Value
+public class BookingCursor {
+    public static final BookingCursor FIRST = new BookingCursor(BookingFilter.MAX_DATE, Long.MAX_VALUE);
+
+    LocalDateTime key;
+    long id;
+
+    public String encode() {
+        String value = id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new BookingCursor(LocalDateTime.parse(value.substring(separator + 1)),
+                    Long.parseLong(value.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный курсор: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.query;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.exception.UnsupportedStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Условия выборки бронирований по состоянию. Любое состояние сводится к набору статусов
+ * и двум диапазонам дат, поэтому для каждой роли хватает одного запроса с одним планом.
+ */
+@Value
+public class BookingFilter {
+    static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    List<Status> statuses;
+    LocalDateTime startFrom;
+    LocalDateTime startTo;
+    LocalDateTime endFrom;
+    LocalDateTime endTo;
+
+    public static BookingFilter of(State state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return new BookingFilter(statuses(Status.values()), MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE);
+            case CURRENT:
+                return new BookingFilter(statuses(Status.values()), MIN_DATE, now, now, MAX_DATE);
+            case PAST:
+                return new BookingFilter(statuses(Status.values()), MIN_DATE, MAX_DATE, MIN_DATE, lastMicroBefore(now));
+            case FUTURE:
+                return new BookingFilter(statuses(Status.values()), firstMicroAfter(now), MAX_DATE, MIN_DATE, MAX_DATE);
+            case WAITING:
+                return new BookingFilter(statuses(Status.WAITING), MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE);
+            case REJECTED:
+                return new BookingFilter(statuses(Status.REJECTED), MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE);
+            default:
+                throw new UnsupportedStatus("Unknown state: " + state);
+        }
+    }
+
+    /**
+     * Даты в БД хранятся с точностью до микросекунды, и драйвер округляет параметры до неё же,
+     * поэтому строгие границы считаются в микросекундах: последняя микросекунда раньше {@code now}
+     * и первая позже.
+     */
+    private static LocalDateTime lastMicroBefore(LocalDateTime now) {
+        LocalDateTime micros = now.truncatedTo(ChronoUnit.MICROS);
+        return micros.equals(now) ? micros.minus(1, ChronoUnit.MICROS) : micros;
+    }
+
+    private static LocalDateTime firstMicroAfter(LocalDateTime now) {
+        return now.truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.MICROS);
+    }
+
+    /**
+     * Дополняет список до постоянной длины, чтобы текст SQL с IN не зависел от состояния.
+     */
+    private static List<Status> statuses(Status... statuses) {
+        List<Status> padded = new ArrayList<>(Arrays.asList(statuses));
+        while (padded.size() < Status.values().length) {
+            padded.add(statuses[statuses.length - 1]);
+        }
+        return Collections.unmodifiableList(padded);
+    }
+}
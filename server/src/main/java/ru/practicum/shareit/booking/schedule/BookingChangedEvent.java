@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private final BookingDto current;
+}
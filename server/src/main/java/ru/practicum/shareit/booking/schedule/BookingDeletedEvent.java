@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+/**
+ * Бронь удалена из БД каскадом вместе с пользователем или вещью.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingDeletedEvent {
+    private final BookingDto booking;
+}
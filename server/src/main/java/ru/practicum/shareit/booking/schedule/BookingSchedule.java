@@ -0,0 +1,222 @@
+package ru.practicum.shareit.booking.schedule;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.practicum.shareit.booking.enums.Status.APPROVED;
+import static ru.practicum.shareit.booking.enums.Status.WAITING;
+
+/**
+ * Расписание занятости вещей: подтверждённые и ожидающие брони каждой вещи в дереве интервалов.
+ * Изменения применяются после коммита транзакции. Закончившиеся брони периодически вытесняются,
+ * а граница {@link #covers покрытия} сдвигается вслед за ними.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingSchedule {
+    public static final List<Status> BLOCKING_STATUSES = List.of(APPROVED, WAITING);
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+    private volatile LocalDateTime loadedFrom;
+    private List<Runnable> pending;
+
+    public boolean hasConflict(Long itemId, LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+        long excludeId = excludeBookingId == null ? 0L : excludeBookingId;
+        if (covers(start)) {
+            boolean overlaps = false;
+            IntervalTree tree = trees.get(itemId);
+            if (tree != null) {
+                synchronized (tree) {
+                    overlaps = tree.overlaps(start, end, excludeId);
+                }
+            }
+            if (covers(start)) {
+                return overlaps;
+            }
+        }
+        return bookingRepository.existsOverlapping(itemId, start, end, BLOCKING_STATUSES, excludeId);
+    }
+
+    /**
+     * Свободные промежутки вещи внутри [from, to): дополнение к подтверждённым и ожидающим броням.
+     */
+    public List<IntervalDto> freeIntervals(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return freeIntervals(List.of(itemId), from, to).get(itemId);
+    }
+
+    /**
+     * Свободные промежутки сразу для нескольких вещей: из памяти либо одним запросом по всем вещам.
+     */
+    public Map<Long, List<IntervalDto>> freeIntervals(Collection<Long> itemIds, LocalDateTime from, LocalDateTime to) {
+        Map<Long, List<IntervalDto>> busy = new LinkedHashMap<>();
+        itemIds.forEach(itemId -> busy.put(itemId, new ArrayList<>()));
+        if (covers(from)) {
+            busy.forEach((itemId, intervals) -> {
+                IntervalTree tree = trees.get(itemId);
+                if (tree != null) {
+                    synchronized (tree) {
+                        tree.collect(from, to, intervals);
+                    }
+                }
+            });
+        }
+        if (!covers(from)) {
+            busy.values().forEach(List::clear);
+            for (BookingDto booking : bookingRepository.findBusyIntervals(busy.keySet(), from, to, BLOCKING_STATUSES)) {
+                busy.get(booking.getItemId()).add(new IntervalDto(booking.getStart(), booking.getEnd()));
+            }
+        }
+        busy.replaceAll((itemId, intervals) -> gaps(intervals, from, to));
+        return busy;
+    }
+
+    private static List<IntervalDto> gaps(List<IntervalDto> busy, LocalDateTime from, LocalDateTime to) {
+        List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (IntervalDto interval : busy) {
+            if (interval.getStart().isAfter(cursor)) {
+                free.add(new IntervalDto(cursor, interval.getStart()));
+            }
+            if (interval.getEnd().isAfter(cursor)) {
+                cursor = interval.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new IntervalDto(cursor, to));
+        }
+        return free;
+    }
+
+    /**
+     * В памяти лежат только брони, не закончившиеся к моменту загрузки или последнего вытеснения,
+     * поэтому окна, начинающиеся раньше, и все запросы до загрузки проверяются в БД.
+     * Граница сдвигается до вытеснения, поэтому чтение, увидевшее вытеснение, перепроверяет её
+     * и уходит в БД.
+     */
+    private boolean covers(LocalDateTime start) {
+        LocalDateTime loaded = loadedFrom;
+        return loaded != null && !start.isBefore(loaded);
+    }
+
+    public void put(BookingDto booking) {
+        LocalDateTime loaded = loadedFrom;
+        boolean ended = loaded != null && !booking.getEnd().isAfter(loaded);
+        if (BLOCKING_STATUSES.contains(booking.getStatus()) && !ended) {
+            trees.compute(booking.getItemId(), (itemId, tree) -> {
+                IntervalTree target = tree == null ? new IntervalTree() : tree;
+                synchronized (target) {
+                    target.put(booking.getId(), booking.getStart(), booking.getEnd());
+                }
+                return target;
+            });
+        } else {
+            remove(booking);
+        }
+    }
+
+    private void remove(BookingDto booking) {
+        trees.computeIfPresent(booking.getItemId(), (itemId, tree) -> {
+            synchronized (tree) {
+                tree.remove(booking.getId());
+                return tree.size() == 0 ? null : tree;
+            }
+        });
+    }
+
+    /**
+     * Изменения, пришедшие во время загрузки, откладываются и применяются поверх неё:
+     * иначе пачка, прочитанная до отклонения брони, вернула бы её в дерево.
+     */
+    private void apply(Runnable change) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(change);
+                return;
+            }
+        }
+        change.run();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        loadedFrom = null;
+        trees.clear();
+        LocalDateTime now = LocalDateTime.now();
+        Long afterId = 0L;
+        long count = 0;
+        List<BookingDto> batch;
+        do {
+            batch = bookingRepository.findAllActiveAfter(BLOCKING_STATUSES, now, afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (BookingDto booking : batch) {
+                put(booking);
+                afterId = booking.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        synchronized (this) {
+            pending.forEach(Runnable::run);
+            pending = null;
+            loadedFrom = now;
+        }
+        log.info("Расписание бронирований построено: {} броней по {} вещам за {} мс",
+                count, trees.size(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.schedule.evict-interval:PT1H}",
+            initialDelayString = "${shareit.booking.schedule.evict-interval:PT1H}")
+    public void evict() {
+        if (loadedFrom == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        loadedFrom = now;
+        AtomicLong evicted = new AtomicLong();
+        for (Long itemId : trees.keySet()) {
+            trees.computeIfPresent(itemId, (key, tree) -> {
+                synchronized (tree) {
+                    evicted.addAndGet(tree.removeEndedBy(now));
+                    return tree.size() == 0 ? null : tree;
+                }
+            });
+        }
+        log.info("Из расписания бронирований вытеснено {} закончившихся броней", evicted);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        apply(() -> put(event.getCurrent()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingDeleted(BookingDeletedEvent event) {
+        apply(() -> remove(event.getBooking()));
+    }
+}
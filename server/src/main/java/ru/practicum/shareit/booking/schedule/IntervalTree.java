@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking.schedule;
+
+import ru.practicum.shareit.booking.dto.IntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Декартово дерево полуинтервалов [start, end), упорядоченных по (start, id).
+ * Каждый узел хранит максимальный конец в своём поддереве, поэтому поиск пересечения
+ * отбрасывает поддеревья целиком и укладывается в O(log n). Не потокобезопасно.
+ */
+class IntervalTree {
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private Node root;
+
+    void put(long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        Node node = new Node(id, start, end, ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        nodes.put(id, node);
+    }
+
+    void remove(long id) {
+        Node node = nodes.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end, long excludeId) {
+        return overlaps(root, start, end, excludeId);
+    }
+
+    /**
+     * Добавляет в sink интервалы, пересекающие [start, end), в порядке начала.
+     */
+    void collect(LocalDateTime start, LocalDateTime end, List<IntervalDto> sink) {
+        collect(root, start, end, sink);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Удаляет интервалы, закончившиеся не позже {@code time}; возвращает их число.
+     */
+    int removeEndedBy(LocalDateTime time) {
+        List<Long> ended = new ArrayList<>();
+        nodes.forEach((id, node) -> {
+            if (!node.end.isAfter(time)) {
+                ended.add(id);
+            }
+        });
+        ended.forEach(this::remove);
+        return ended.size();
+    }
+
+    private static boolean overlaps(Node node, LocalDateTime start, LocalDateTime end, long excludeId) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return false;
+        }
+        if (overlaps(node.left, start, end, excludeId)) {
+            return true;
+        }
+        if (!node.start.isBefore(end)) {
+            return false;
+        }
+        if (node.id != excludeId && node.end.isAfter(start)) {
+            return true;
+        }
+        return overlaps(node.right, start, end, excludeId);
+    }
+
+    private static void collect(Node node, LocalDateTime start, LocalDateTime end, List<IntervalDto> sink) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collect(node.left, start, end, sink);
+        if (!node.start.isBefore(end)) {
+            return;
+        }
+        if (node.end.isAfter(start)) {
+            sink.add(new IntervalDto(node.start, node.end));
+        }
+        collect(node.right, start, end, sink);
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            return update(inserted);
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (compare(deleted, node) < 0) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        return update(node);
+    }
+
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            return new Node[]{update(node), parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        return new Node[]{parts[0], update(node)};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+        return node;
+    }
+
+    private static int compare(Node a, Node b) {
+        int byStart = a.start.compareTo(b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+
+    private static final class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long id, LocalDateTime start, LocalDateTime end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+}
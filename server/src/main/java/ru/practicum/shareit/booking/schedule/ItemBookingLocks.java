@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.schedule;
+
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Полосатые блокировки по вещам: брони одной вещи создаются и подтверждаются по очереди,
+ * разные вещи не мешают друг другу. Блокировка держится до завершения транзакции,
+ * то есть до коммита и обновления {@link BookingSchedule}, иначе следующая проверка увидит устаревшее расписание.
+ */
+@Component
+public class ItemBookingLocks {
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public ItemBookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public void lockUntilCompletion(Long itemId) {
+        lockUntilCompletion(locks[stripe(itemId)]);
+    }
+
+    /**
+     * Блокирует сразу несколько вещей, беря полосы по возрастанию номера, чтобы две такие транзакции
+     * не ждали друг друга по кругу.
+     */
+    public void lockAllUntilCompletion(Collection<Long> itemIds) {
+        itemIds.stream()
+                .mapToInt(ItemBookingLocks::stripe)
+                .distinct()
+                .sorted()
+                .forEach(stripe -> lockUntilCompletion(locks[stripe]));
+    }
+
+    private static int stripe(Long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), STRIPES);
+    }
+
+    private static void lockUntilCompletion(ReentrantLock lock) {
+        lock.lock();
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.unlock();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingShortOutDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.schedule.ItemBookingLocks;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.enums.Status.REJECTED;
+
+/**
+ * Поддерживает {@link ItemBookingSummary}: пересчитывает сводку вещи в транзакции брони,
+ * а фоновая задача переносит наступившее «следующее» бронирование в «последнее». Фоновая задача
+ * не берёт блокировки вещей и не задерживает брони: от гонок её защищает версия сводки.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingSummaries {
+    private static final int BATCH_SIZE = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ItemBookingLocks itemBookingLocks;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Пересчитывает сводки вещей. Вызывается внутри транзакции, изменившей их брони, под блокировкой вещи,
+     * поэтому перезаписывает сводку безусловно, увеличивая её версию.
+     */
+    public void refresh(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> ItemBookingSummary.builder().itemId(id).build()));
+        fill(summaries, bookingRepository.findLastAndNextBookings(itemIds, REJECTED.name(), now));
+        for (ItemBookingSummary summary : summaries.values()) {
+            if (summaryRepository.overwrite(summary) == 0) {
+                summaryRepository.save(summary);
+            }
+        }
+    }
+
+    /**
+     * Заполняет последнее и следующее бронирование из сводок. Сводки, чьё следующее бронирование
+     * уже началось, а фоновая задача до них ещё не дошла, пересчитываются запросом к броням.
+     */
+    public void apply(List<ItemOutDto> items, LocalDateTime now) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemOutDto> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemOutDto::getId, Function.identity()));
+        List<Long> stale = new ArrayList<>();
+        for (ItemBookingSummary summary : summaryRepository.findAllById(itemsById.keySet())) {
+            if (summary.getNextStart() != null && !summary.getNextStart().isAfter(now)) {
+                stale.add(summary.getItemId());
+                continue;
+            }
+            ItemOutDto item = itemsById.get(summary.getItemId());
+            if (summary.getLastBookingId() != null) {
+                item.setLastBooking(new BookingShortOutDto(summary.getLastBookingId(), summary.getLastBookerId(),
+                        summary.getLastStart(), summary.getLastEnd()));
+            }
+            if (summary.getNextBookingId() != null) {
+                item.setNextBooking(new BookingShortOutDto(summary.getNextBookingId(), summary.getNextBookerId(),
+                        summary.getNextStart(), summary.getNextEnd()));
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+        for (ItemBookingView booking : bookingRepository.findLastAndNextBookings(stale, REJECTED.name(), now)) {
+            BookingShortOutDto shortBooking = bookingMapper.viewToShortOutDTO(booking);
+            if (Boolean.TRUE.equals(booking.getLast())) {
+                itemsById.get(booking.getItemId()).setLastBooking(shortBooking);
+            } else {
+                itemsById.get(booking.getItemId()).setNextBooking(shortBooking);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.summary.sweep-interval:PT1M}",
+            initialDelayString = "${shareit.booking.summary.sweep-interval:PT1M}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        long count = refreshAll(afterId -> summaryRepository.findStaleItemIds(now, afterId, page()), now);
+        if (count > 0) {
+            log.info("Сводки бронирований обновлены по наступившим броням: {} вещей", count);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        long count = refreshAll(afterId -> bookingRepository.findBookedItemIdsAfter(afterId, page()), now);
+        log.info("Сводки бронирований построены: {} вещей", count);
+    }
+
+    private long refreshAll(Function<Long, List<Long>> nextBatch, LocalDateTime now) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        Long afterId = 0L;
+        long count = 0;
+        List<Long> batch;
+        do {
+            batch = nextBatch.apply(afterId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> itemIds = batch;
+            List<Long> missing = template.execute(status -> advance(itemIds, now));
+            for (Long itemId : missing) {
+                template.executeWithoutResult(status -> {
+                    itemBookingLocks.lockUntilCompletion(itemId);
+                    refresh(List.of(itemId), now);
+                });
+            }
+            afterId = batch.get(batch.size() - 1);
+            count += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+        return count;
+    }
+
+    /**
+     * Пересчитывает существующие сводки без блокировок вещей: строка записывается, только если
+     * её версия не изменилась после чтения. Сводку, которую успела переписать транзакция брони,
+     * пересчитывать не нужно — она уже актуальна. Возвращает вещи, у которых сводки ещё нет.
+     */
+    private List<Long> advance(List<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingSummary> summaries = summaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, summary -> summary.toBuilder().build()));
+        List<Long> missing = itemIds.stream()
+                .filter(itemId -> !summaries.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (summaries.isEmpty()) {
+            return missing;
+        }
+        fill(summaries, bookingRepository.findLastAndNextBookings(summaries.keySet(), REJECTED.name(), now));
+        int skipped = 0;
+        for (ItemBookingSummary summary : summaries.values()) {
+            if (summaryRepository.updateIfUnchanged(summary) == 0) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            log.debug("Сводки {} вещей изменены бронями во время пересчёта и пропущены", skipped);
+        }
+        return missing;
+    }
+
+    private static void fill(Map<Long, ItemBookingSummary> summaries, List<ItemBookingView> bookings) {
+        for (ItemBookingSummary summary : summaries.values()) {
+            setLast(summary, null);
+            setNext(summary, null);
+        }
+        for (ItemBookingView booking : bookings) {
+            if (Boolean.TRUE.equals(booking.getLast())) {
+                setLast(summaries.get(booking.getItemId()), booking);
+            } else {
+                setNext(summaries.get(booking.getItemId()), booking);
+            }
+        }
+    }
+
+    private static void setLast(ItemBookingSummary summary, ItemBookingView booking) {
+        summary.setLastBookingId(booking == null ? null : booking.getId());
+        summary.setLastBookerId(booking == null ? null : booking.getBookerId());
+        summary.setLastStart(booking == null ? null : booking.getStart());
+        summary.setLastEnd(booking == null ? null : booking.getEnd());
+    }
+
+    private static void setNext(ItemBookingSummary summary, ItemBookingView booking) {
+        summary.setNextBookingId(booking == null ? null : booking.getId());
+        summary.setNextBookerId(booking == null ? null : booking.getBookerId());
+        summary.setNextStart(booking == null ? null : booking.getStart());
+        summary.setNextEnd(booking == null ? null : booking.getEnd());
+    }
+
+    private static Pageable page() {
+        return PageRequest.of(0, BATCH_SIZE);
+    }
+}
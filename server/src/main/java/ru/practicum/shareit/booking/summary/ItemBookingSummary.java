@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking.summary;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Последнее и следующее бронирование вещи, сохранённые рядом с ней, чтобы карточка и список вещей
+ * владельца не обращались к таблице бронирований.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Getter
+@Setter
+@ToString
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(name = "last_booking_id")
+    private Long lastBookingId;
+    @Column(name = "last_booker_id")
+    private Long lastBookerId;
+    @Column(name = "last_start_date")
+    private LocalDateTime lastStart;
+    @Column(name = "last_end_date")
+    private LocalDateTime lastEnd;
+    @Column(name = "next_booking_id")
+    private Long nextBookingId;
+    @Column(name = "next_booker_id")
+    private Long nextBookerId;
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStart;
+    @Column(name = "next_end_date")
+    private LocalDateTime nextEnd;
+    /**
+     * Растёт при каждой записи сводки. Фоновая задача обновляет строку, только если версия
+     * не изменилась с момента чтения, поэтому не затирает сводку, записанную транзакцией брони.
+     */
+    @Column(nullable = false)
+    private long version;
+}
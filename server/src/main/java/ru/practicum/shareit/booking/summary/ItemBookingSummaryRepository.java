@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    String UPDATE_ALL = "update ItemBookingSummary s set " +
+            "s.lastBookingId = :#{#summary.lastBookingId}, s.lastBookerId = :#{#summary.lastBookerId}, " +
+            "s.lastStart = :#{#summary.lastStart}, s.lastEnd = :#{#summary.lastEnd}, " +
+            "s.nextBookingId = :#{#summary.nextBookingId}, s.nextBookerId = :#{#summary.nextBookerId}, " +
+            "s.nextStart = :#{#summary.nextStart}, s.nextEnd = :#{#summary.nextEnd}, " +
+            "s.version = s.version + 1 ";
+
+    @Query("select s.itemId from ItemBookingSummary s " +
+            "where s.nextStart <= ?1 and s.itemId > ?2 " +
+            "order by s.itemId")
+    List<Long> findStaleItemIds(LocalDateTime now, Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(UPDATE_ALL + "where s.itemId = :#{#summary.itemId}")
+    int overwrite(@Param("summary") ItemBookingSummary summary);
+
+    @Modifying
+    @Transactional
+    @Query(UPDATE_ALL + "where s.itemId = :#{#summary.itemId} and s.version = :#{#summary.version}")
+    int updateIfUnchanged(@Param("summary") ItemBookingSummary summary);
+}
@@ -1,17 +1,37 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemStream;
+import ru.practicum.shareit.listing.ListingResponses;
+import ru.practicum.shareit.listing.dto.TotalDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.item.constant.ItemConstants.X_NEXT_CURSOR;
 import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
 
 @Slf4j
@@ -20,6 +40,7 @@ import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{itemId}")
     public ItemOutDto findById(@RequestHeader(X_SHARER_USER_ID) Long userId,
@@ -47,23 +68,85 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemOutDto> getAllItemsOwners(@RequestHeader(X_SHARER_USER_ID) Long ownerId,
-                                              @RequestParam Integer from,
-                                              @RequestParam Integer size) {
+    public ResponseEntity<List<ItemOutDto>> getAllItemsOwners(@RequestHeader(X_SHARER_USER_ID) Long ownerId,
+                                                              @RequestParam Integer from,
+                                                              @RequestParam Integer size) {
         log.info("Получен запрос GET, на получения всех предметов.");
-        List<ItemOutDto> itemDtoList = itemService.getAllItemsOwner(ownerId, from, size);
-        log.info("Получен ответ, список товаров, размер: {}", itemDtoList.size());
-        return itemDtoList;
+        Slice<ItemOutDto> items = itemService.getAllItemsOwner(ownerId, from, size);
+        log.info("Получен ответ, список товаров, размер: {}", items.getNumberOfElements());
+        return ListingResponses.of(items);
+    }
+
+    @GetMapping("/total")
+    public TotalDto countItemsOwner(@RequestHeader(X_SHARER_USER_ID) Long ownerId) {
+        log.info("Получен запрос GET, на получение числа предметов владельца: {}", ownerId);
+        return new TotalDto(itemService.countItemsOwner(ownerId));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllItemsOwners(@RequestHeader(X_SHARER_USER_ID) Long ownerId) {
+        log.info("Получен запрос GET, на потоковую выгрузку всех предметов владельца: {}", ownerId);
+        return ndjson(itemService.streamAllItemsOwner(ownerId));
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearch(@RequestParam String text) {
+        log.info("Получен запрос на потоковый поиск всех вещей по тексту: {}", text);
+        return ndjson(itemService.streamSearch(text));
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchBy(@RequestParam String text,
-                                  @RequestParam Integer from,
-                                  @RequestParam Integer size) {
+    public ResponseEntity<Object> searchBy(@RequestParam String text,
+                                           @RequestParam Integer from,
+                                           @RequestParam Integer size,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                           @RequestParam(defaultValue = "false") boolean facets,
+                                           @RequestParam(defaultValue = "10") Integer facetSize) {
         log.info("Получен запрос на поиск всех вещей по тексту: " + text);
-        List<ItemDto> items = itemService.searchBy(text, from, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        List<ItemDto> items;
+        if (start != null || end != null) {
+            items = itemService.searchAvailable(text, start, end, from, size);
+        } else if (cursor == null && from > 0) {
+            items = itemService.searchBy(text, from, size);
+        } else {
+            ItemPageDto page = itemService.searchAfter(text, cursor, size);
+            if (page.getNextCursor() != null) {
+                response.header(X_NEXT_CURSOR, page.getNextCursor());
+            }
+            items = page.getItems();
+        }
         log.info("Отработан запрос на поиск всех вещей по тексту: " + text);
-        return items;
+        if (!facets) {
+            return response.body(items);
+        }
+        return response.body(new ItemSearchResultDto(items, itemService.facets(text, start, end, facetSize)));
+    }
+
+    @GetMapping("/search/suggest")
+    public List<SuggestionDto> suggest(@RequestParam String prefix,
+                                       @RequestParam Integer size) {
+        log.info("Получен запрос на подсказки по префиксу: {}", prefix);
+        return itemService.suggest(prefix, size);
+    }
+
+    @PostMapping("/availability")
+    public List<ItemAvailabilityDto> availability(@RequestBody ItemAvailabilityRequestDto request) {
+        log.info("Получен запрос на свободные даты {} вещей с {} по {}",
+                request.getItemIds() == null ? 0 : request.getItemIds().size(), request.getStart(), request.getEnd());
+        return itemService.availability(request);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<IntervalDto> availability(@PathVariable Long itemId,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Получен запрос на свободные даты вещи {} с {} по {}", itemId, from, to);
+        return itemService.availability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -73,4 +156,22 @@ public class ItemController {
         log.info("Получен запрос на создание комментариев вещей под id - ", itemId);
         return itemService.addComment(userId, itemId, requestDto);
     }
+
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(ItemStream<T> stream) {
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = out -> {
+            stream.forEach(row -> {
+                try {
+                    out.write(writer.writeValueAsBytes(row));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
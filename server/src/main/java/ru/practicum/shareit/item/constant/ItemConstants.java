@@ -2,4 +2,5 @@ package ru.practicum.shareit.item.constant;
 
 public class ItemConstants {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    public static final String X_NEXT_CURSOR = "X-Next-Cursor";
 }
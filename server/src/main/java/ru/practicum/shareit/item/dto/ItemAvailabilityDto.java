@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private Boolean free;
+    private List<IntervalDto> freeIntervals;
+}
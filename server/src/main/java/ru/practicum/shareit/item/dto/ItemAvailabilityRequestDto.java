@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityRequestDto {
+    private List<Long> itemIds;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class ItemFacetsDto {
+    private long total;
+    private Map<Boolean, Long> available;
+    private Map<Boolean, Long> request;
+    private Map<Long, Long> owner;
+}
@@ -12,7 +12,10 @@ import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ItemMapper {
-    @Mapping(source = "ownerId", target = "owner.id")
+    @Mappings({
+            @Mapping(source = "ownerId", target = "owner.id"),
+            @Mapping(target = "updated", ignore = true)
+    })
     Item updateToModel(ItemDto itemDto);
 
     default Item toModel(ItemDto itemDto) {
@@ -34,6 +37,8 @@ public interface ItemMapper {
     @Mapping(source = "request.id", target = "requestId")
     ItemOutDto toOutDTO(Item item);
 
+    ItemOutDto dtoToOutDTO(ItemDto itemDto);
+
     List<ItemOutDto> toListOutDTO(List<Item> itemList);
 }
 
@@ -5,6 +5,7 @@ import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "items")
@@ -32,4 +33,12 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private Request request;
+    @Column(nullable = false)
+    private LocalDateTime updated;
+
+    @PrePersist
+    @PreUpdate
+    private void touch() {
+        updated = LocalDateTime.now();
+    }
 }
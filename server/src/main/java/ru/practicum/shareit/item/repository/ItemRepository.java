@@ -1,20 +1,97 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
 
+import javax.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String STREAM_FETCH_SIZE = "500";
+
     boolean existsByIdAndOwner_Id(Long itemId, Long ownerId);
 
-    Page<Item> findAllByOwner_IdOrderById(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwner_IdOrderById(Long ownerId, Pageable pageable);
+
+    long countByOwner_Id(Long ownerId);
+
+    Slice<Item> findByDescriptionContainingIgnoreCaseAndAvailableIsTrue(String text, Pageable pageable);
+
+    List<Item> findByDescriptionContainingIgnoreCaseAndAvailableIsTrueAndIdGreaterThanOrderById(String text, Long afterId, Pageable pageable);
+
+    @Query("select i from Item i " +
+            "where i.available = true and upper(i.description) like upper(concat('%', ?1, '%')) escape '!' " +
+            "and not exists (select b.id from Booking b " +
+            "where b.item = i and b.status in ?4 and b.start < ?3 and b.end > ?2) " +
+            "order by i.id")
+    List<Item> findAvailableBetween(String pattern, LocalDateTime start, LocalDateTime end,
+                                    Collection<Status> blocking, Pageable pageable);
 
-    Page<Item> findByDescriptionContainingIgnoreCaseAndAvailableIsTrue(String text, Pageable pageable);
+    @Query("select i.id from Item i " +
+            "where i.available = true and upper(i.description) like upper(concat('%', ?1, '%')) escape '!' " +
+            "and not exists (select b.id from Booking b " +
+            "where b.item = i and b.status in ?4 and b.start < ?3 and b.end > ?2)")
+    List<Long> findAvailableIdsBetween(String pattern, LocalDateTime start, LocalDateTime end,
+                                       Collection<Status> blocking);
+
+    @Query("select i.id from Item i where i.id in ?1")
+    List<Long> findExistingIds(Collection<Long> ids);
 
     List<Item> findAllByRequestIn(List<Request> requestList);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.owner.id, r.id) " +
+            "from Item i left join i.request r " +
+            "where i.id > ?1 " +
+            "order by i.id")
+    List<ItemDto> findAllAfter(Long afterId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.owner.id, r.id) " +
+            "from Item i left join i.request r " +
+            "where (i.updated >= ?1 or i.id > ?2) and i.id > ?3 " +
+            "order by i.id")
+    List<ItemDto> findAllChangedSince(LocalDateTime since, Long highWaterId, Long afterId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.owner.id, r.id) " +
+            "from Item i left join i.request r " +
+            "where i.available = true and upper(i.description) like upper(concat('%', ?1, '%')) escape '!' " +
+            "order by i.id")
+    Stream<ItemDto> streamAvailableByDescription(String pattern);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, i.owner.id, r.id) " +
+            "from Item i left join i.request r " +
+            "where i.owner.id = ?1 " +
+            "order by i.id")
+    Stream<ItemDto> streamAllByOwner(Long ownerId);
+
+    /**
+     * Экранирует {@code text} для подстановки в {@code like ... escape '!'}.
+     */
+    static String likePattern(String text) {
+        return text.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
 }
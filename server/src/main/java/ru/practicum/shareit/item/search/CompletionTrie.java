@@ -0,0 +1,201 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Префиксное дерево термов с частотами. Дети узла хранятся в отсортированных массивах,
+ * а каждый узел помнит максимальную частоту в своём поддереве, поэтому лучшие N дополнений
+ * находятся обходом «сначала лучший» без перебора всех термов с данным префиксом.
+ * Класс не потокобезопасен.
+ */
+public class CompletionTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root.keys = NO_KEYS;
+        root.children = NO_CHILDREN;
+        root.count = 0;
+        root.best = 0;
+        size = 0;
+    }
+
+    public void add(String term, int delta) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = node.child(term.charAt(i));
+            if (child == null) {
+                if (delta <= 0) {
+                    return;
+                }
+                child = node.addChild(term.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+        int before = node.count;
+        node.count = Math.max(0, node.count + delta);
+        if (before == 0 && node.count > 0) {
+            size++;
+        } else if (before > 0 && node.count == 0) {
+            size--;
+        }
+        for (int i = term.length(); i >= 0; i--) {
+            Node current = path[i];
+            current.updateBest();
+            if (i > 0 && current.count == 0 && current.children.length == 0) {
+                path[i - 1].removeChild(term.charAt(i - 1));
+            }
+        }
+    }
+
+    public int count(String term) {
+        Node node = find(term);
+        return node == null ? 0 : node.count;
+    }
+
+    public List<Completion> complete(String prefix, int limit) {
+        List<Completion> result = new ArrayList<>();
+        Node start = find(prefix);
+        if (start == null || limit <= 0) {
+            return result;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator
+                .comparingInt((Candidate candidate) -> -candidate.priority)
+                .thenComparing(candidate -> candidate.terminal ? 0 : 1)
+                .thenComparing(candidate -> candidate.term));
+        queue.add(new Candidate(prefix, start, start.best, false));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.terminal) {
+                result.add(new Completion(candidate.term, candidate.priority));
+                continue;
+            }
+            Node node = candidate.node;
+            if (node.count > 0) {
+                queue.add(new Candidate(candidate.term, node, node.count, true));
+            }
+            for (int i = 0; i < node.keys.length; i++) {
+                Node child = node.children[i];
+                queue.add(new Candidate(candidate.term + node.keys[i], child, child.best, false));
+            }
+        }
+        return result;
+    }
+
+    public List<String> match(LevenshteinAutomaton automaton) {
+        List<String> result = new ArrayList<>();
+        match(root, new StringBuilder(), automaton, automaton.start(), result);
+        return result;
+    }
+
+    private void match(Node node, StringBuilder term, LevenshteinAutomaton automaton, int[] state, List<String> result) {
+        if (node.count > 0 && automaton.isMatch(state)) {
+            result.add(term.toString());
+        }
+        for (int i = 0; i < node.keys.length; i++) {
+            int[] next = automaton.step(state, node.keys[i]);
+            if (automaton.canMatch(next)) {
+                term.append(node.keys[i]);
+                match(node.children[i], term, automaton, next, result);
+                term.setLength(term.length() - 1);
+            }
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Completion {
+        private final String term;
+        private final int count;
+    }
+
+    @AllArgsConstructor
+    private static final class Candidate {
+        private final String term;
+        private final Node node;
+        private final int priority;
+        private final boolean terminal;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int count;
+        private int best;
+
+        private Node child(char key) {
+            int position = Arrays.binarySearch(keys, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node addChild(char key) {
+            int insertion = -Arrays.binarySearch(keys, key) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertion);
+            System.arraycopy(children, 0, newChildren, 0, insertion);
+            newKeys[insertion] = key;
+            Node child = new Node();
+            newChildren[insertion] = child;
+            System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+            System.arraycopy(children, insertion, newChildren, insertion + 1, children.length - insertion);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int position = Arrays.binarySearch(keys, key);
+            if (position < 0) {
+                return;
+            }
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(keys, position + 1, newKeys, position, keys.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void updateBest() {
+            int result = count;
+            for (Node child : children) {
+                result = Math.max(result, child.best);
+            }
+            best = result;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Поиск слов описания с допуском опечаток: каждое слово запроса раскрывается в термы словаря,
+ * найденные обходом префиксного дерева автоматом Левенштейна, их списки объединяются,
+ * а результаты по словам пересекаются, как у точного движка.
+ * Допуск считается по основе слова после стемминга: 0 для основ до 2 букв, 1 — до 4 букв.
+ */
+public class FuzzyItemSearchEngine extends IndexedItemSearchEngine {
+    private final InvertedIndex index = new InvertedIndex();
+    private final CompletionTrie dictionary = new CompletionTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FuzzyItemSearchEngine(ItemRepository itemRepository, ItemSearchProperties properties) {
+        super(itemRepository, properties);
+    }
+
+    @Override
+    protected IndexedItemSearchEngine emptyCopy() {
+        return new FuzzyItemSearchEngine(itemRepository, properties);
+    }
+
+    @Override
+    protected void index(ItemDto item) {
+        int id = ItemIndex.toDocId(item.getId());
+        Set<String> terms = ItemTokenizer.tokenize(item.getDescription());
+        lock.writeLock().lock();
+        try {
+            index.terms(id).forEach(term -> dictionary.add(term, -1));
+            index.put(id, terms);
+            terms.forEach(term -> dictionary.add(term, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            index.terms(id).forEach(term -> dictionary.add(term, -1));
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index.clear();
+            dictionary.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void built() {
+        lock.writeLock().lock();
+        try {
+            index.built();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected int[] match(String text, int limit) {
+        Set<String> words = ItemTokenizer.tokenize(text);
+        if (words.isEmpty()) {
+            return new int[0];
+        }
+        List<PostingList> lists = new ArrayList<>(words.size());
+        lock.readLock().lock();
+        try {
+            for (String word : words) {
+                List<PostingList> expansions = new ArrayList<>();
+                for (String term : dictionary.match(new LevenshteinAutomaton(word, distance(word)))) {
+                    expansions.add(index.get(term));
+                }
+                if (expansions.isEmpty()) {
+                    return new int[0];
+                }
+                lists.add(PostingList.union(expansions));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return PostingList.intersect(lists);
+    }
+
+    private int distance(String word) {
+        int allowed = word.length() <= 2 ? 0 : word.length() <= 4 ? 1 : 2;
+        return Math.min(allowed, properties.getFuzzyDistance());
+    }
+
+    @Override
+    public boolean requiresAllWords() {
+        return false;
+    }
+}
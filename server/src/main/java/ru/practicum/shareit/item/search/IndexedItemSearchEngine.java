@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Основа для движков, которые держат индекс доступных вещей в памяти и обращаются к БД
+ * только за содержимым итоговой страницы.
+ */
+@RequiredArgsConstructor
+public abstract class IndexedItemSearchEngine implements ItemSearchEngine, ItemIndex {
+    private static final long MATCHES_MAX_IDS = 4_000_000;
+
+    protected final ItemRepository itemRepository;
+    protected final ItemSearchProperties properties;
+    private final AtomicLong version = new AtomicLong();
+    private final Cache<String, Matches> matches = Caffeine.newBuilder()
+            .maximumWeight(MATCHES_MAX_IDS)
+            .weigher((String text, Matches value) -> 1 + value.hits.size())
+            .build();
+
+    @Override
+    public void put(ItemDto item) {
+        version.incrementAndGet();
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            index(item);
+        } else {
+            remove(ItemIndex.toDocId(item.getId()));
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        version.incrementAndGet();
+        remove(ItemIndex.toDocId(id));
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        int[] ids = match(text, limit);
+        int start = (int) Math.min(pageable.getOffset(), ids.length);
+        int end = Math.min(start + pageable.getPageSize(), ids.length);
+        if (start == end) {
+            return Collections.emptyList();
+        }
+        List<Long> pageIds = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            pageIds.add((long) ids[i]);
+        }
+        return hydrate(pageIds);
+    }
+
+    /**
+     * Продолжение ищется бинарным поиском по всем попаданиям запроса. Попадания запоминаются до
+     * следующего изменения индекса, поэтому листание не сопоставляет запрос заново на каждой странице.
+     */
+    @Override
+    public ItemSearchSlice searchAfter(String text, ItemSearchCursor cursor, int size) {
+        ItemSearchHits hits = allHits(text);
+        int start = cursor == null ? 0 : hits.positionAfter(cursor);
+        int last = Math.min(start + size, hits.size()) - 1;
+        return slice(hits.getIds(), start, size, id -> hits.cursor(last));
+    }
+
+    private ItemSearchHits allHits(String text) {
+        long current = version.get();
+        Matches cached = matches.getIfPresent(text);
+        if (cached != null && cached.version == current) {
+            return cached.hits;
+        }
+        ItemSearchHits hits = hits(text, Integer.MAX_VALUE);
+        matches.put(text, new Matches(current, hits));
+        return hits;
+    }
+
+    protected ItemSearchSlice slice(int[] ids, int start, int size, IntFunction<ItemSearchCursor> cursorOf) {
+        int end = Math.min(start + size, ids.length);
+        List<Long> pageIds = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            pageIds.add((long) ids[i]);
+        }
+        List<Item> items = pageIds.isEmpty() ? Collections.emptyList() : hydrate(pageIds);
+        ItemSearchCursor next = end < ids.length ? cursorOf.apply(ids[end - 1]) : null;
+        return new ItemSearchSlice(items, next);
+    }
+
+    protected List<Item> hydrate(List<Long> ids) {
+        Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()))
+                .collect(Collectors.toList());
+    }
+
+    protected abstract void index(ItemDto item);
+
+    /**
+     * Пустой движок того же вида: в него {@link ItemFacetIndex} кладёт все вещи, включая недоступные.
+     */
+    protected abstract IndexedItemSearchEngine emptyCopy();
+
+    protected abstract void remove(int id);
+
+    /**
+     * Возвращает id подходящих вещей в порядке выдачи; достаточно первых {@code limit}.
+     */
+    protected abstract int[] match(String text, int limit);
+
+    /**
+     * То же, что {@link #match}, вместе с оценками, если движок ранжирует выдачу.
+     */
+    protected ItemSearchHits hits(String text, int limit) {
+        return new ItemSearchHits(match(text, limit), null);
+    }
+
+    @AllArgsConstructor
+    private static class Matches {
+        private final long version;
+        private final ItemSearchHits hits;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Отображение терм -> отсортированные id вещей. Запись синхронизирована, чтение без блокировок.
+ * После {@link #clear()} списки копятся в {@link PostingList.Builder} и кодируются в {@link #built()},
+ * дальше каждое изменение копирует затронутые списки.
+ */
+public class InvertedIndex {
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> documents = new ConcurrentHashMap<>();
+    private volatile Map<String, PostingList.Builder> building;
+
+    public synchronized void put(int id, Set<String> terms) {
+        remove(id);
+        for (String term : terms) {
+            if (building != null) {
+                building.computeIfAbsent(term, key -> new PostingList.Builder()).add(id);
+            } else {
+                postings.merge(term, PostingList.of(id), (list, ignored) -> list.with(id));
+            }
+        }
+        documents.put(id, Set.copyOf(terms));
+    }
+
+    public synchronized void remove(int id) {
+        Set<String> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            if (building != null) {
+                building.get(term).remove(id);
+            } else {
+                postings.computeIfPresent(term, (key, list) -> {
+                    PostingList result = list.without(id);
+                    return result.isEmpty() ? null : result;
+                });
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+        building = new HashMap<>();
+    }
+
+    public synchronized void built() {
+        if (building == null) {
+            return;
+        }
+        building.forEach((term, builder) -> {
+            if (!builder.isEmpty()) {
+                postings.put(term, builder.build());
+            }
+        });
+        building = null;
+    }
+
+    public Set<String> terms(int id) {
+        return documents.getOrDefault(id, Set.of());
+    }
+
+    public PostingList get(String term) {
+        if (building != null) {
+            synchronized (this) {
+                if (building != null) {
+                    PostingList.Builder builder = building.get(term);
+                    return builder == null ? PostingList.EMPTY : builder.build();
+                }
+            }
+        }
+        return postings.getOrDefault(term, PostingList.EMPTY);
+    }
+
+    public int[] intersect(Collection<String> terms) {
+        return PostingList.intersect(terms.stream()
+                .map(this::get)
+                .collect(Collectors.toList()));
+    }
+
+    public synchronized int termCount() {
+        return building != null ? building.size() : postings.size();
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+}
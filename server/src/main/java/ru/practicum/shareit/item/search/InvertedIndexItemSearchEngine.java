@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+public class InvertedIndexItemSearchEngine extends IndexedItemSearchEngine {
+    private final InvertedIndex index = new InvertedIndex();
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository, ItemSearchProperties properties) {
+        super(itemRepository, properties);
+    }
+
+    @Override
+    protected IndexedItemSearchEngine emptyCopy() {
+        return new InvertedIndexItemSearchEngine(itemRepository, properties);
+    }
+
+    @Override
+    protected void index(ItemDto item) {
+        index.put(ItemIndex.toDocId(item.getId()), ItemTokenizer.tokenize(item.getDescription()));
+    }
+
+    @Override
+    protected void remove(int id) {
+        index.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+    }
+
+    @Override
+    public void built() {
+        index.built();
+    }
+
+    @Override
+    protected int[] match(String text, int limit) {
+        return index.intersect(ItemTokenizer.tokenize(text));
+    }
+
+    @Override
+    public boolean stemsWords() {
+        return true;
+    }
+}
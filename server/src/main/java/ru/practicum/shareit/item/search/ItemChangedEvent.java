@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Изменение вещи: {@code previous} равно {@code null} для новой вещи, {@code current} — для удалённой.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+    private final ItemDto previous;
+    private final ItemDto current;
+}
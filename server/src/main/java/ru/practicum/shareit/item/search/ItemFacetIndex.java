@@ -0,0 +1,163 @@
+package ru.practicum.shareit.item.search;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetsDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Фасеты поиска вещей: сжатые битовые множества id по доступности, наличию запроса и владельцу
+ * пересекаются с множеством вещей, подходящих под запрос. Запрос сопоставляется в памяти движком
+ * того же вида, что и настроенный, но со всеми вещами, а не только доступными; для поиска через БД —
+ * триграммным движком, который ищет подстроку так же, как запрос к БД.
+ */
+@Component
+public class ItemFacetIndex implements ItemIndex {
+    private final IndexedItemSearchEngine matcher;
+    private final Map<Integer, Long> owners = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byOwner = new HashMap<>();
+    private final RoaringBitmap available = new RoaringBitmap();
+    private final RoaringBitmap requested = new RoaringBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemFacetIndex(ItemSearchEngine engine, ItemRepository itemRepository, ItemSearchProperties properties) {
+        this.matcher = engine instanceof IndexedItemSearchEngine ? ((IndexedItemSearchEngine) engine).emptyCopy()
+                : new TrigramItemSearchEngine(itemRepository, properties);
+    }
+
+    @Override
+    public void clear() {
+        matcher.clear();
+        lock.writeLock().lock();
+        try {
+            owners.clear();
+            byOwner.clear();
+            available.clear();
+            requested.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(ItemDto item) {
+        matcher.index(item);
+        int id = ItemIndex.toDocId(item.getId());
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                available.add(id);
+            }
+            if (item.getRequestId() != null) {
+                requested.add(id);
+            }
+            if (item.getOwnerId() != null) {
+                owners.put(id, item.getOwnerId());
+                byOwner.computeIfAbsent(item.getOwnerId(), key -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        matcher.remove(ItemIndex.toDocId(id));
+        lock.writeLock().lock();
+        try {
+            remove(ItemIndex.toDocId(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void built() {
+        matcher.built();
+    }
+
+    /**
+     * Счётчики по фасетам для всех вещей, подходящих под запрос {@code text}, доступных и нет.
+     */
+    public ItemFacetsDto facets(String text, int ownerLimit) {
+        return facets(text.isEmpty() ? new int[0] : matcher.match(text, Integer.MAX_VALUE), ownerLimit);
+    }
+
+    /**
+     * Счётчики по фасетам для вещей из {@code matches}; по владельцам — не более
+     * {@code ownerLimit} самых частых.
+     */
+    public ItemFacetsDto facets(int[] matches, int ownerLimit) {
+        RoaringBitmap ids = RoaringBitmap.bitmapOf(matches);
+        lock.readLock().lock();
+        try {
+            long total = ids.getLongCardinality();
+            long availableCount = RoaringBitmap.andCardinality(ids, available);
+            long requestedCount = RoaringBitmap.andCardinality(ids, requested);
+            return new ItemFacetsDto(total,
+                    counts(availableCount, total - availableCount),
+                    counts(requestedCount, total - requestedCount),
+                    topOwners(ids, ownerLimit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Long> topOwners(RoaringBitmap matches, int limit) {
+        Comparator<Map.Entry<Long, Long>> worstFirst = Map.Entry.<Long, Long>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Long>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Long>> heap = new PriorityQueue<>(worstFirst);
+        if (limit > 0 && !matches.isEmpty()) {
+            byOwner.forEach((owner, items) -> {
+                long count = RoaringBitmap.andCardinality(matches, items);
+                if (count == 0) {
+                    return;
+                }
+                Map.Entry<Long, Long> entry = Map.entry(owner, count);
+                if (heap.size() < limit) {
+                    heap.add(entry);
+                } else if (worstFirst.compare(entry, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            });
+        }
+        List<Map.Entry<Long, Long>> best = new ArrayList<>(heap);
+        best.sort(worstFirst.reversed());
+        Map<Long, Long> result = new LinkedHashMap<>();
+        best.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private void remove(int id) {
+        available.remove(id);
+        requested.remove(id);
+        Long owner = owners.remove(id);
+        if (owner != null) {
+            RoaringBitmap items = byOwner.get(owner);
+            items.remove(id);
+            if (items.isEmpty()) {
+                byOwner.remove(owner);
+            }
+        }
+    }
+
+    private static Map<Boolean, Long> counts(long yes, long no) {
+        Map<Boolean, Long> counts = new LinkedHashMap<>();
+        counts.put(true, yes);
+        counts.put(false, no);
+        return counts;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Структура в памяти, которую {@link ItemIndexer} наполняет вещами при старте и поддерживает
+ * в актуальном состоянии после каждой зафиксированной транзакции, изменившей вещь.
+ */
+public interface ItemIndex {
+    void clear();
+
+    void put(ItemDto item);
+
+    /**
+     * Убирает вещь, удалённую из БД.
+     */
+    void remove(Long id);
+
+    /**
+     * Вызывается после того, как при построении в индекс положены все вещи.
+     */
+    default void built() {
+    }
+
+    static int toDocId(Long id) {
+        return Math.toIntExact(id);
+    }
+}
@@ -0,0 +1,222 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Снимок вещей, из которых строятся индексы поиска, в компактном двоичном файле.
+ * При старте файл отображается в память, индексы наполняются из него, а из БД догружаются только
+ * вещи, изменённые после отметки снимка ({@link HighWater}). Снимок пишется по расписанию
+ * и при остановке сервера. Без {@code shareit.search.snapshot.path} вещи в памяти не копятся.
+ */
+@Slf4j
+@Component
+public class ItemIndexSnapshot implements ItemIndex {
+    private static final int MAGIC = 0x53484958;
+    private static final int VERSION = 1;
+    private static final byte AVAILABLE = 1;
+    private static final byte HAS_OWNER = 2;
+    private static final byte HAS_REQUEST = 4;
+
+    private final ItemSearchProperties.Snapshot properties;
+    private final Map<Long, ItemDto> documents = new ConcurrentSkipListMap<>();
+    private final AtomicLong maxItemId = new AtomicLong();
+    private volatile boolean built;
+
+    public ItemIndexSnapshot(ItemSearchProperties properties) {
+        this.properties = properties.getSnapshot();
+    }
+
+    @Override
+    public void clear() {
+        if (!enabled()) {
+            return;
+        }
+        built = false;
+        documents.clear();
+        maxItemId.set(0);
+    }
+
+    @Override
+    public void put(ItemDto item) {
+        if (!enabled()) {
+            return;
+        }
+        maxItemId.accumulateAndGet(item.getId(), Math::max);
+        documents.put(item.getId(), item);
+    }
+
+    @Override
+    public void remove(Long id) {
+        documents.remove(id);
+    }
+
+    @Override
+    public void built() {
+        built = true;
+    }
+
+    /**
+     * Передаёт вещи из снимка в {@code consumer}. Возвращает отметку, после которой изменения
+     * нужно догрузить из БД, или {@code null}, если снимка нет или он повреждён.
+     */
+    public HighWater load(Consumer<ItemDto> consumer) {
+        Path path = path();
+        if (path == null || !Files.isReadable(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                log.warn("Снимок индекса {} слишком велик для отображения в память: {} байт", path, channel.size());
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("Снимок индекса {} имеет неизвестный формат", path);
+                return null;
+            }
+            HighWater highWater = new HighWater(buffer.getLong(),
+                    LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC));
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                consumer.accept(read(buffer));
+            }
+            log.info("Загружен снимок индекса {}: {} вещей, отметка {}", path, count, highWater.getUpdated());
+            return highWater;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            log.warn("Не удалось прочитать снимок индекса {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.search.snapshot.interval:PT10M}",
+            initialDelayString = "${shareit.search.snapshot.interval:PT10M}")
+    public void write() {
+        Path path = path();
+        if (path == null || !built) {
+            return;
+        }
+        LocalDateTime updated = LocalDateTime.now().minus(properties.getReplayOverlap());
+        long itemId = maxItemId.get();
+        List<ItemDto> items = new ArrayList<>(documents.values());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(itemId);
+                out.writeLong(updated.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(updated.getNano());
+                out.writeInt(items.size());
+                for (ItemDto item : items) {
+                    write(out, item);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Записан снимок индекса {}: {} вещей", path, items.size());
+        } catch (IOException e) {
+            log.warn("Не удалось записать снимок индекса {}: {}", path, e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        write();
+    }
+
+    private boolean enabled() {
+        String path = properties.getPath();
+        return path != null && !path.isBlank();
+    }
+
+    private Path path() {
+        return enabled() ? Paths.get(properties.getPath()) : null;
+    }
+
+    private static void write(DataOutputStream out, ItemDto item) throws IOException {
+        byte flags = 0;
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            flags |= AVAILABLE;
+        }
+        if (item.getOwnerId() != null) {
+            flags |= HAS_OWNER;
+        }
+        if (item.getRequestId() != null) {
+            flags |= HAS_REQUEST;
+        }
+        out.writeLong(item.getId());
+        out.writeByte(flags);
+        if (item.getOwnerId() != null) {
+            out.writeLong(item.getOwnerId());
+        }
+        if (item.getRequestId() != null) {
+            out.writeLong(item.getRequestId());
+        }
+        writeString(out, item.getName());
+        writeString(out, item.getDescription());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static ItemDto read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        byte flags = buffer.get();
+        Long ownerId = (flags & HAS_OWNER) != 0 ? buffer.getLong() : null;
+        Long requestId = (flags & HAS_REQUEST) != 0 ? buffer.getLong() : null;
+        String name = readString(buffer);
+        String description = readString(buffer);
+        return new ItemDto(id, name, description, (flags & AVAILABLE) != 0, ownerId, requestId);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Отметка снимка: наибольший известный id вещи и момент, начиная с которого изменения
+     * могли в снимок не попасть.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class HighWater {
+        private final long itemId;
+        private final LocalDateTime updated;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemIndexer {
+    private final ItemRepository itemRepository;
+    private final ItemSearchProperties properties;
+    private final List<ItemIndex> indexes;
+    private final ItemIndexSnapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        indexes.forEach(ItemIndex::clear);
+        List<Long> restored = new ArrayList<>();
+        ItemIndexSnapshot.HighWater highWater = snapshot.load(item -> {
+            put(item);
+            restored.add(item.getId());
+        });
+        long count;
+        long removed = 0;
+        if (highWater == null) {
+            if (!restored.isEmpty()) {
+                indexes.forEach(ItemIndex::clear);
+            }
+            count = load(itemRepository::findAllAfter);
+        } else {
+            count = load((afterId, page) -> itemRepository.findAllChangedSince(highWater.getUpdated(),
+                    highWater.getItemId(), afterId, page));
+            removed = removeDeleted(restored);
+        }
+        indexes.forEach(ItemIndex::built);
+        log.info("Индексы вещей построены: {} вещей из снимка ({} удалены из БД), {} из БД за {} мс",
+                highWater == null ? 0 : restored.size(), removed, count, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Убирает вещи из снимка, которых больше нет в БД: догрузка по отметке удалений не видит.
+     */
+    private long removeDeleted(List<Long> ids) {
+        long removed = 0;
+        for (int from = 0; from < ids.size(); from += properties.getIndexBatchSize()) {
+            List<Long> batch = ids.subList(from, Math.min(from + properties.getIndexBatchSize(), ids.size()));
+            Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(batch));
+            for (Long id : batch) {
+                if (!existing.contains(id)) {
+                    indexes.forEach(index -> index.remove(id));
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private long load(BiFunction<Long, Pageable, List<ItemDto>> source) {
+        Long afterId = 0L;
+        long count = 0;
+        List<ItemDto> batch;
+        do {
+            batch = source.apply(afterId, PageRequest.of(0, properties.getIndexBatchSize()));
+            for (ItemDto item : batch) {
+                put(item);
+                afterId = item.getId();
+            }
+            count += batch.size();
+        } while (batch.size() == properties.getIndexBatchSize());
+        return count;
+    }
+
+    private void put(ItemDto item) {
+        indexes.forEach(index -> index.put(item));
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.getCurrent() == null) {
+            indexes.forEach(index -> index.remove(event.getPrevious().getId()));
+        } else {
+            put(event.getCurrent());
+        }
+    }
+}
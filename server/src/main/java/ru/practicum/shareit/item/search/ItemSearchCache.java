@@ -0,0 +1,220 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш страниц поиска вещей (вытеснение W-TinyLFU, ограничение по приблизительному объёму в байтах).
+ * Страницы сбрасываются по отдельности: каждая записана в индексе под короткими фрагментами слов запроса,
+ * а изменённая вещь сбрасывает страницы, чьи фрагменты встречаются в её старых или новых названии и описании.
+ * Если запрос подходит вещи — подстрокой, основой слова или с опечатками, — хотя бы один его фрагмент
+ * в ней есть, поэтому затронутая страница не останется в кэше.
+ */
+@Component
+public class ItemSearchCache {
+    private static final int GRAM = 3;
+    private static final String ANY = "";
+
+    private final ItemSearchProperties.Cache properties;
+    private final int typos;
+    private final Cache<Key, ItemPageDto> cache;
+    private final Map<String, Set<Key>> keysByTerm = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemSearchCache(ItemSearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getCache();
+        this.typos = "fuzzy".equals(properties.getEngine()) ? properties.getFuzzyDistance() : 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(this.properties.getMaximumWeight())
+                .weigher((Key key, ItemPageDto page) -> weigh(key, page))
+                .expireAfterWrite(this.properties.getExpireAfterWrite())
+                .evictionListener((Key key, ItemPageDto page, RemovalCause cause) -> unregister(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items.search");
+    }
+
+    public List<ItemDto> get(String text, Pageable pageable, Supplier<List<ItemDto>> loader) {
+        return get(text, pageable.getOffset(), pageable.getPageSize(), false,
+                () -> new ItemPageDto(loader.get(), null)).getItems();
+    }
+
+    /**
+     * Первая страница выдачи по курсору вместе с курсором следующей.
+     */
+    public ItemPageDto getFirstPage(String text, int size, Supplier<ItemPageDto> loader) {
+        return get(text, 0, size, true, loader);
+    }
+
+    private ItemPageDto get(String text, long offset, int size, boolean cursor, Supplier<ItemPageDto> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        Key key = new Key(normalize(text), offset, size, cursor);
+        ItemPageDto cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long started = generation.get();
+        ItemPageDto loaded = loader.get();
+        ItemPageDto page = new ItemPageDto(List.copyOf(loaded.getItems()), loaded.getNextCursor());
+        if (generation.get() == started) {
+            cache.put(key, page);
+            register(key);
+            if (generation.get() != started) {
+                invalidate(key);
+            }
+        }
+        return page;
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!affectsSearch(event.getPrevious(), event.getCurrent())) {
+            return;
+        }
+        generation.incrementAndGet();
+        Set<String> terms = new HashSet<>();
+        terms.add(ANY);
+        addItemTerms(event.getPrevious(), terms);
+        addItemTerms(event.getCurrent(), terms);
+        for (String term : terms) {
+            Set<Key> keys = keysByTerm.remove(term);
+            if (keys != null) {
+                keys.forEach(this::invalidate);
+            }
+        }
+    }
+
+    private void invalidate(Key key) {
+        cache.invalidate(key);
+        unregister(key);
+    }
+
+    private void register(Key key) {
+        for (String term : queryTerms(key.getText())) {
+            keysByTerm.compute(term, (t, keys) -> {
+                Set<Key> target = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                target.add(key);
+                return target;
+            });
+        }
+    }
+
+    private void unregister(Key key) {
+        for (String term : queryTerms(key.getText())) {
+            keysByTerm.computeIfPresent(term, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    /**
+     * Фрагменты запроса: основа каждого слова делится на {@code typos + 1} частей (при опечатках
+     * хотя бы одна часть остаётся целой), от каждой части берутся первые три буквы.
+     * Запрос без букв и цифр записывается под {@link #ANY} и сбрасывается любым изменением.
+     */
+    private Set<String> queryTerms(String text) {
+        Set<String> terms = new HashSet<>();
+        for (String word : ItemTokenizer.words(text)) {
+            String stem = RussianLightStemmer.stem(fold(word));
+            int pieces = Math.min(typos + 1, stem.length());
+            for (int i = 0; i < pieces; i++) {
+                int from = stem.length() * i / pieces;
+                int to = stem.length() * (i + 1) / pieces;
+                terms.add(stem.substring(from, Math.min(to, from + GRAM)));
+            }
+        }
+        if (terms.isEmpty()) {
+            terms.add(ANY);
+        }
+        return terms;
+    }
+
+    /**
+     * Все фрагменты до трёх букв из слов названия и описания вещи.
+     */
+    private static void addItemTerms(ItemDto item, Set<String> terms) {
+        if (item == null) {
+            return;
+        }
+        for (String text : new String[]{item.getName(), item.getDescription()}) {
+            for (String word : ItemTokenizer.words(text)) {
+                String folded = fold(word);
+                for (int from = 0; from < folded.length(); from++) {
+                    for (int to = from + 1; to <= Math.min(folded.length(), from + GRAM); to++) {
+                        terms.add(folded.substring(from, to));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String fold(String word) {
+        return word.replace('ё', 'е');
+    }
+
+    /**
+     * Может ли изменение повлиять на выдачу: в поиск попадают только доступные вещи,
+     * и только название, описание и доступность влияют на совпадение.
+     */
+    private static boolean affectsSearch(ItemDto previous, ItemDto current) {
+        if (previous == null || current == null) {
+            return isAvailable(previous == null ? current : previous);
+        }
+        return (isAvailable(previous) || isAvailable(current))
+                && (!Objects.equals(previous.getName(), current.getName())
+                || !Objects.equals(previous.getDescription(), current.getDescription())
+                || !Objects.equals(previous.getAvailable(), current.getAvailable()));
+    }
+
+    private static boolean isAvailable(ItemDto item) {
+        return Boolean.TRUE.equals(item.getAvailable());
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static int weigh(Key key, ItemPageDto page) {
+        int weight = 64 + 2 * (key.getText().length() + length(page.getNextCursor()));
+        for (ItemDto item : page.getItems()) {
+            weight += 64 + 2 * (length(item.getName()) + length(item.getDescription()));
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    @Value
+    private static class Key {
+        String text;
+        long offset;
+        int size;
+        boolean cursor;
+    }
+}
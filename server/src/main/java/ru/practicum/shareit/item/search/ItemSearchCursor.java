@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор выдачи: ключ сортировки последней отданной вещи.
+ * Для выдачи по id это id, для ранжированной — пара (оценка, id).
+ */
+@Value
+public class ItemSearchCursor {
+    long id;
+    Double score;
+
+    public static ItemSearchCursor after(long id) {
+        return new ItemSearchCursor(id, null);
+    }
+
+    public static ItemSearchCursor after(double score, long id) {
+        return new ItemSearchCursor(id, score);
+    }
+
+    public String encode() {
+        String value = score == null ? Long.toString(id) : id + ":" + Long.toHexString(Double.doubleToLongBits(score));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemSearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                return after(Long.parseLong(value));
+            }
+            return after(Double.longBitsToDouble(Long.parseUnsignedLong(value.substring(separator + 1), 16)),
+                    Long.parseLong(value.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Некорректный курсор: " + cursor);
+        }
+    }
+}
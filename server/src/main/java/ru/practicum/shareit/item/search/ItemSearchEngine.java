@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * Страница из {@code size} вещей, следующих за курсором ({@code null} — с начала выдачи).
+     */
+    ItemSearchSlice searchAfter(String text, ItemSearchCursor cursor, int size);
+
+    /**
+     * Находит ли движок только вещи, в описании которых встречается каждое слово запроса
+     * (или его основа, если движок {@link #stemsWords() сравнивает основы}).
+     * Тогда запрос со словом, которого нет ни в одном описании, можно отсечь до поиска.
+     */
+    default boolean requiresAllWords() {
+        return true;
+    }
+
+    /**
+     * Сравнивает ли движок основы слов из {@link ItemTokenizer#tokens}, а не слова как они написаны.
+     */
+    default boolean stemsWords() {
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.function.Supplier;
+
+/**
+ * Движки с индексом в памяти. При {@code shareit.search.segments.count > 1} индекс движка
+ * разбивается на сегменты, которые опрашиваются параллельно.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ItemSearchEngineConfiguration {
+    private final ItemRepository itemRepository;
+    private final ItemSearchProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.search.engine", havingValue = "inverted")
+    public IndexedItemSearchEngine invertedIndexItemSearchEngine() {
+        return segmented(() -> new InvertedIndexItemSearchEngine(itemRepository, properties));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.search.engine", havingValue = "trigram")
+    public IndexedItemSearchEngine trigramItemSearchEngine() {
+        return segmented(() -> new TrigramItemSearchEngine(itemRepository, properties));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.search.engine", havingValue = "ranked")
+    public IndexedItemSearchEngine rankedItemSearchEngine() {
+        return segmented(() -> new RankedItemSearchEngine(itemRepository, properties));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fuzzy")
+    public IndexedItemSearchEngine fuzzyItemSearchEngine() {
+        return segmented(() -> new FuzzyItemSearchEngine(itemRepository, properties));
+    }
+
+    private IndexedItemSearchEngine segmented(Supplier<IndexedItemSearchEngine> factory) {
+        if (properties.getSegments().getCount() == 1) {
+            return factory.get();
+        }
+        return new SegmentedItemSearchEngine(itemRepository, properties, factory, meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Найденные id в порядке выдачи: по убыванию оценки, при равенстве — по возрастанию id.
+ * У движков без ранжирования {@code scores == null}, и порядок определяется только id.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSearchHits {
+    private final int[] ids;
+    private final double[] scores;
+
+    public int size() {
+        return ids.length;
+    }
+
+    public double score(int position) {
+        return scores == null ? 0.0 : scores[position];
+    }
+
+    public ItemSearchCursor cursor(int position) {
+        return scores == null
+                ? ItemSearchCursor.after(ids[position])
+                : ItemSearchCursor.after(scores[position], ids[position]);
+    }
+
+    /**
+     * Позиция первого попадания строго после курсора: бинарный поиск по порядку выдачи.
+     */
+    public int positionAfter(ItemSearchCursor cursor) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isAfter(middle, cursor)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean isAfter(int position, ItemSearchCursor cursor) {
+        if (scores == null) {
+            return ids[position] > cursor.getId();
+        }
+        double last = cursor.getScore() == null ? Double.POSITIVE_INFINITY : cursor.getScore();
+        double score = scores[position];
+        return score < last || score == last && ids[position] > cursor.getId();
+    }
+}
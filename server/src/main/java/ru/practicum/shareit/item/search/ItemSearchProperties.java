@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@Validated
+@ConfigurationProperties(prefix = "shareit.search")
+public class ItemSearchProperties {
+    /**
+     * Движок поиска вещей: repository (LIKE-запрос к БД), inverted (индекс слов в памяти),
+     * trigram (индекс триграмм в памяти с семантикой поиска подстроки), ranked (BM25 по названию и описанию)
+     * или fuzzy (индекс слов с допуском опечаток).
+     */
+    private String engine = "repository";
+    /**
+     * Размер пачки вещей, загружаемой из БД при построении индекса.
+     */
+    private int indexBatchSize = 1000;
+    /**
+     * Создавать ли в Postgres GIN-индекс pg_trgm для движка repository.
+     */
+    private boolean pgTrgmIndex = false;
+    /**
+     * Вес совпадений в названии вещи относительно описания для движка ranked.
+     */
+    private double nameWeight = 2.0;
+    /**
+     * Максимальное число опечаток в слове запроса для движка fuzzy.
+     */
+    @Min(0)
+    @Max(2)
+    private int fuzzyDistance = 2;
+    private final Cache cache = new Cache();
+    @Valid
+    private final Bloom bloom = new Bloom();
+    @Valid
+    private final Segments segments = new Segments();
+    private final Snapshot snapshot = new Snapshot();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /**
+         * Кэшировать ли страницы результатов поиска.
+         */
+        private boolean enabled = true;
+        /**
+         * Приблизительный предельный объём кэша в байтах.
+         */
+        private long maximumWeight = 32 * 1024 * 1024;
+        /**
+         * Страховочное время жизни записи на случай изменений вещей в обход сервиса.
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Bloom {
+        /**
+         * Отсекать ли запросы со словами, которых нет ни в одном описании, без обращения к движку.
+         */
+        private boolean enabled = true;
+        /**
+         * Ожидаемое число различных триграмм в описаниях; определяет размер фильтра.
+         */
+        @Min(1)
+        private long expectedTerms = 100_000;
+        /**
+         * Целевая доля ложноположительных ответов при ожидаемом числе триграмм.
+         */
+        @DecimalMin(value = "0.0", inclusive = false)
+        @DecimalMax(value = "1.0", inclusive = false)
+        private double fpp = 0.01;
+    }
+
+    @Getter
+    @Setter
+    public static class Segments {
+        /**
+         * Число сегментов индекса движков inverted, trigram, ranked и fuzzy; 1 — без разбиения.
+         */
+        @Min(1)
+        private int count = 1;
+        /**
+         * Число потоков пула, в котором сегменты опрашиваются параллельно.
+         */
+        @Min(1)
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        /**
+         * Файл снимка индекса; если не задан, индекс при каждом старте строится из БД.
+         */
+        private String path;
+        /**
+         * Период записи снимка.
+         */
+        private Duration interval = Duration.ofMinutes(10);
+        /**
+         * Запас по времени для отметки снимка: перекрывает изменения, зафиксированные, но ещё
+         * не попавшие в индекс к моменту записи, и расхождение часов узлов.
+         */
+        private Duration replayOverlap = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class ItemSearchSlice {
+    private final List<Item> items;
+    private final ItemSearchCursor next;
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Фильтр Блума по триграммам слов и их основ из описаний доступных вещей. Если какой-то триграммы слова
+ * запроса в фильтре нет, ни одно описание не содержит этого слова, и поиск можно не выполнять.
+ * Изменённые, удалённые и ставшие недоступными вещи из фильтра не удаляются — это только повышает долю
+ * ложноположительных ответов до следующего построения индексов.
+ */
+@Component
+public class ItemTermFilter implements ItemIndex {
+    private final ItemSearchProperties.Bloom properties;
+    private final TermBloomFilter filter;
+    private final Counter rejected;
+    private final Counter passed;
+    private volatile boolean built;
+
+    public ItemTermFilter(ItemSearchProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getBloom();
+        this.filter = new TermBloomFilter(this.properties.getExpectedTerms(), this.properties.getFpp());
+        this.rejected = Counter.builder("items.search.bloom.queries")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.passed = Counter.builder("items.search.bloom.queries")
+                .tag("result", "passed")
+                .register(meterRegistry);
+        Gauge.builder("items.search.bloom.fpp", filter, TermBloomFilter::expectedFpp)
+                .description("Оценка доли ложноположительных ответов фильтра")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void clear() {
+        built = false;
+        filter.clear();
+    }
+
+    @Override
+    public void put(ItemDto item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        for (String word : ItemTokenizer.words(item.getDescription())) {
+            TrigramItemSearchEngine.trigrams(word).forEach(filter::put);
+        }
+        for (String token : ItemTokenizer.tokens(item.getDescription())) {
+            TrigramItemSearchEngine.trigrams(token).forEach(filter::put);
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+    }
+
+    @Override
+    public void built() {
+        built = true;
+    }
+
+    public boolean mightMatch(String text) {
+        return mightMatch(text, false);
+    }
+
+    /**
+     * {@code false}, если по запросу гарантированно ничего не найдётся. При {@code stemmed}
+     * проверяются основы слов запроса, иначе слова как они написаны. Слова короче триграммы
+     * не проверяются.
+     */
+    public boolean mightMatch(String text, boolean stemmed) {
+        if (!properties.isEnabled() || !built) {
+            return true;
+        }
+        for (String word : stemmed ? ItemTokenizer.tokenize(text) : ItemTokenizer.words(text)) {
+            for (String trigram : TrigramItemSearchEngine.trigrams(word)) {
+                if (!filter.mightContain(trigram)) {
+                    rejected.increment();
+                    return false;
+                }
+            }
+        }
+        passed.increment();
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Дополнение слов по префиксу из названий и описаний доступных вещей. Частота терма — число
+ * доступных вещей, в которых он встречается.
+ */
+@Component
+public class ItemTermSuggester implements ItemIndex {
+    private final CompletionTrie trie = new CompletionTrie();
+    private final Map<Integer, Set<String>> documents = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(ItemDto item) {
+        int id = ItemIndex.toDocId(item.getId());
+        Set<String> terms = new HashSet<>();
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            terms.addAll(ItemTokenizer.words(item.getName()));
+            terms.addAll(ItemTokenizer.words(item.getDescription()));
+        }
+        update(id, terms);
+    }
+
+    @Override
+    public void remove(Long id) {
+        update(ItemIndex.toDocId(id), Set.of());
+    }
+
+    private void update(int id, Set<String> terms) {
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = terms.isEmpty() ? documents.remove(id) : documents.put(id, terms);
+            if (previous != null) {
+                previous.stream()
+                        .filter(term -> !terms.contains(term))
+                        .forEach(term -> trie.add(term, -1));
+            }
+            terms.stream()
+                    .filter(term -> previous == null || !previous.contains(term))
+                    .forEach(term -> trie.add(term, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CompletionTrie.Completion> suggest(String prefix, int limit) {
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            return trie.complete(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
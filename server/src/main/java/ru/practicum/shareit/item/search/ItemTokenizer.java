@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Разбор текста для индексов поиска. {@link #tokens} — полный конвейер, одинаковый при индексации
+ * и при запросе: нижний регистр, ё → е, отбрасывание стоп-слов, лёгкий стемминг. {@link #words} —
+ * слова как они написаны, только в нижнем регистре: для подсказок и проверок вхождения подстроки.
+ */
+public final class ItemTokenizer {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "а", "без", "бы", "в", "во", "вот", "все", "всё", "да", "для", "до", "если", "есть", "еще", "же",
+            "за", "и", "из", "или", "к", "как", "ко", "ли", "на", "над", "не", "нет", "ни", "но", "о", "об",
+            "от", "по", "под", "после", "при", "про", "с", "со", "так", "также", "то", "у", "уже", "через",
+            "что", "чтобы", "это", "этот"
+    );
+
+    private ItemTokenizer() {
+    }
+
+    public static Set<String> tokenize(String text) {
+        return new LinkedHashSet<>(tokens(text));
+    }
+
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : split(text)) {
+            String folded = word.replace('ё', 'е');
+            if (!STOP_WORDS.contains(folded)) {
+                tokens.add(RussianLightStemmer.stem(folded));
+            }
+        }
+        return tokens;
+    }
+
+    public static Set<String> words(String text) {
+        return new LinkedHashSet<>(split(text));
+    }
+
+    private static List<String> split(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Автомат, принимающий слова на расстоянии Левенштейна не больше {@code maxDistance} от заданного.
+ * Состояние — строка таблицы расстояний до всех префиксов слова; при обходе словаря ветку можно
+ * отбросить, как только {@link #canMatch(int[])} вернёт {@code false}.
+ */
+public final class LevenshteinAutomaton {
+    private final String word;
+    private final int maxDistance;
+
+    public LevenshteinAutomaton(String word, int maxDistance) {
+        this.word = word;
+        this.maxDistance = maxDistance;
+    }
+
+    public int[] start() {
+        int[] state = new int[word.length() + 1];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = i;
+        }
+        return state;
+    }
+
+    public int[] step(int[] state, char c) {
+        int[] next = new int[state.length];
+        next[0] = state[0] + 1;
+        for (int i = 1; i < state.length; i++) {
+            int cost = word.charAt(i - 1) == c ? 0 : 1;
+            next[i] = Math.min(Math.min(next[i - 1] + 1, state[i] + 1), state[i - 1] + cost);
+        }
+        return next;
+    }
+
+    public boolean accepts(String term) {
+        int[] state = start();
+        for (int i = 0; i < term.length() && canMatch(state); i++) {
+            state = step(state, term.charAt(i));
+        }
+        return isMatch(state);
+    }
+
+    public boolean isMatch(int[] state) {
+        return state[state.length - 1] <= maxDistance;
+    }
+
+    public boolean canMatch(int[] state) {
+        for (int distance : state) {
+            if (distance <= maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Создаёт в Postgres GIN-индекс pg_trgm по выражению {@code upper(description)}, которое Hibernate
+ * генерирует для {@code findByDescriptionContainingIgnoreCaseAndAvailableIsTrue}, чтобы движок
+ * repository выполнял {@code LIKE '%text%'} по индексу, а не полным сканированием.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.pg-trgm-index", havingValue = "true")
+public class PgTrgmIndexInitializer {
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS items_description_trgm_idx " +
+                    "ON items USING gin (upper(description) gin_trgm_ops)");
+            log.info("Индекс pg_trgm по описанию вещей готов");
+        } catch (DataAccessException e) {
+            log.warn("Не удалось создать индекс pg_trgm, поиск пойдёт без него: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Неизменяемый отсортированный список id вещей для одного терма.
+ * Хранится как разности соседних id в varint-кодировке; каждые {@value #BLOCK_SIZE} элементов
+ * запоминается точка пропуска, чтобы {@link Cursor#advance(int)} не декодировал весь список.
+ * Единичные изменения копируют список ({@link #with}, {@link #without}), а при построении индекса
+ * id копятся в {@link Builder} и кодируются один раз.
+ */
+public final class PostingList {
+    public static final int NO_MORE = Integer.MAX_VALUE;
+    public static final PostingList EMPTY = new PostingList(new byte[0], 0, 0, new int[0], new int[0]);
+
+    private static final int BLOCK_SIZE = 128;
+
+    private final byte[] data;
+    private final int size;
+    private final int last;
+    private final int[] blockFirst;
+    private final int[] blockOffset;
+
+    private PostingList(byte[] data, int size, int last, int[] blockFirst, int[] blockOffset) {
+        this.data = data;
+        this.size = size;
+        this.last = last;
+        this.blockFirst = blockFirst;
+        this.blockOffset = blockOffset;
+    }
+
+    public static PostingList of(int... ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return encode(sorted, count);
+    }
+
+    private static PostingList encode(int[] ids, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        byte[] buffer = new byte[count * 5];
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] first = new int[blocks];
+        int[] offset = new int[blocks];
+        int position = 0;
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            if (i % BLOCK_SIZE == 0) {
+                first[i / BLOCK_SIZE] = ids[i];
+                offset[i / BLOCK_SIZE] = position;
+            }
+            position = writeVarInt(buffer, position, ids[i] - previous);
+            previous = ids[i];
+        }
+        return new PostingList(Arrays.copyOf(buffer, position), count, previous, first, offset);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return cursor().advance(id) == id;
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size];
+        Cursor cursor = cursor();
+        for (int i = 0; i < size; i++) {
+            result[i] = cursor.next();
+        }
+        return result;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public PostingList with(int id) {
+        if (size == 0) {
+            return of(id);
+        }
+        if (id <= last) {
+            int[] ids = toArray();
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return this;
+            }
+            int insertion = -position - 1;
+            int[] result = new int[ids.length + 1];
+            System.arraycopy(ids, 0, result, 0, insertion);
+            result[insertion] = id;
+            System.arraycopy(ids, insertion, result, insertion + 1, ids.length - insertion);
+            return encode(result, result.length);
+        }
+        byte[] appended = Arrays.copyOf(data, data.length + varIntLength(id - last));
+        writeVarInt(appended, data.length, id - last);
+        int[] first = blockFirst;
+        int[] offset = blockOffset;
+        if (size % BLOCK_SIZE == 0) {
+            first = Arrays.copyOf(blockFirst, blockFirst.length + 1);
+            offset = Arrays.copyOf(blockOffset, blockOffset.length + 1);
+            first[first.length - 1] = id;
+            offset[offset.length - 1] = data.length;
+        }
+        return new PostingList(appended, size + 1, id, first, offset);
+    }
+
+    public PostingList without(int id) {
+        if (!contains(id)) {
+            return this;
+        }
+        int[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        System.arraycopy(ids, position + 1, ids, position, ids.length - position - 1);
+        return encode(ids, ids.length - 1);
+    }
+
+    public static PostingList union(List<PostingList> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size;
+        }
+        int[] ids = new int[total];
+        int position = 0;
+        for (PostingList list : lists) {
+            int[] values = list.toArray();
+            System.arraycopy(values, 0, ids, position, values.length);
+            position += values.length;
+        }
+        return of(ids);
+    }
+
+    /**
+     * Пересекает списки «чехардой»: кандидат берётся из самого короткого списка,
+     * остальные продвигаются к нему через точки пропуска.
+     */
+    public static int[] intersect(List<PostingList> lists) {
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+        int shortestIndex = 0;
+        for (int i = 1; i < lists.size(); i++) {
+            if (lists.get(i).size < lists.get(shortestIndex).size) {
+                shortestIndex = i;
+            }
+        }
+        PostingList shortest = lists.get(shortestIndex);
+        if (shortest.isEmpty()) {
+            return new int[0];
+        }
+        Cursor lead = shortest.cursor();
+        Cursor[] others = new Cursor[lists.size() - 1];
+        for (int i = 0, j = 0; i < lists.size(); i++) {
+            if (i != shortestIndex) {
+                others[j++] = lists.get(i).cursor();
+            }
+        }
+        int[] result = new int[shortest.size];
+        int count = 0;
+        int candidate = lead.next();
+        while (candidate != NO_MORE) {
+            int target = candidate;
+            for (Cursor cursor : others) {
+                int value = cursor.advance(target);
+                if (value != target) {
+                    target = value;
+                    break;
+                }
+            }
+            if (target == candidate) {
+                result[count++] = candidate;
+                candidate = lead.next();
+            } else {
+                candidate = target == NO_MORE ? NO_MORE : lead.advance(target);
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int varIntLength(int value) {
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+
+    private static int writeVarInt(byte[] buffer, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    /**
+     * Изменяемый список id для массового построения: добавление за амортизированное O(1),
+     * сортировка и кодирование — один раз в {@link #build()}.
+     */
+    public static final class Builder {
+        private int[] ids = new int[4];
+        private int count;
+        private boolean sorted = true;
+
+        public void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            if (count > 0 && id <= ids[count - 1]) {
+                sorted = false;
+            }
+            ids[count++] = id;
+        }
+
+        public void remove(int id) {
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (ids[i] != id) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            count = kept;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        public PostingList build() {
+            return sorted ? encode(ids, count) : of(Arrays.copyOf(ids, count));
+        }
+    }
+
+    public final class Cursor {
+        private int index;
+        private int offset;
+        private int value;
+
+        private Cursor() {
+        }
+
+        public int next() {
+            if (index >= size) {
+                return NO_MORE;
+            }
+            int delta = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[offset++];
+                delta |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            index++;
+            value += delta;
+            return value;
+        }
+
+        public int advance(int target) {
+            if (index > 0 && value >= target) {
+                return value;
+            }
+            int block = Arrays.binarySearch(blockFirst, target);
+            if (block < 0) {
+                block = -block - 2;
+            }
+            if (block >= 0 && block * BLOCK_SIZE >= index) {
+                index = block * BLOCK_SIZE;
+                offset = blockOffset[block];
+                value = blockFirst[block] - decodeAt(offset);
+            }
+            int current = next();
+            while (current < target) {
+                current = next();
+            }
+            return current;
+        }
+
+        private int decodeAt(int position) {
+            int delta = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                delta |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ранжированный поиск по названию и описанию (BM25F): совпадение в названии весит
+ * {@code shareit.search.name-weight}, документ подходит, если содержит хотя бы одно слово запроса.
+ * Для страницы отбираются лучшие {@code from + size} вещей в ограниченной куче без сортировки всех совпадений.
+ */
+public class RankedItemSearchEngine extends IndexedItemSearchEngine {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Comparator<Map.Entry<Integer, Double>> WORST_FIRST =
+            Map.Entry.<Integer, Double>comparingByValue()
+                    .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed());
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+    private volatile long totalNameLength;
+    private volatile long totalDescriptionLength;
+
+    public RankedItemSearchEngine(ItemRepository itemRepository, ItemSearchProperties properties) {
+        super(itemRepository, properties);
+    }
+
+    @Override
+    protected IndexedItemSearchEngine emptyCopy() {
+        return new RankedItemSearchEngine(itemRepository, properties);
+    }
+
+    @Override
+    protected synchronized void index(ItemDto item) {
+        int id = ItemIndex.toDocId(item.getId());
+        remove(id);
+        Document document = new Document(ItemTokenizer.tokens(item.getName()), ItemTokenizer.tokens(item.getDescription()));
+        Set<String> terms = new HashSet<>(document.name.keySet());
+        terms.addAll(document.description.keySet());
+        index.put(id, terms);
+        documents.put(id, document);
+        totalNameLength += document.nameLength;
+        totalDescriptionLength += document.descriptionLength;
+    }
+
+    @Override
+    protected synchronized void remove(int id) {
+        Document document = documents.remove(id);
+        if (document != null) {
+            index.remove(id);
+            totalNameLength -= document.nameLength;
+            totalDescriptionLength -= document.descriptionLength;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        index.clear();
+        documents.clear();
+        totalNameLength = 0;
+        totalDescriptionLength = 0;
+    }
+
+    @Override
+    public synchronized void built() {
+        index.built();
+    }
+
+    @Override
+    protected int[] match(String text, int limit) {
+        return limit == 0 ? new int[0] : top(score(text), limit);
+    }
+
+    @Override
+    protected ItemSearchHits hits(String text, int limit) {
+        Map<Integer, Double> scores = score(text);
+        int[] ids = limit == 0 ? new int[0] : top(scores, limit);
+        double[] values = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = scores.get(ids[i]);
+        }
+        return new ItemSearchHits(ids, values);
+    }
+
+    private Map<Integer, Double> score(String text) {
+        Map<Integer, Double> scores = new HashMap<>();
+        int count = documents.size();
+        if (count == 0) {
+            return scores;
+        }
+        double averageName = Math.max(1.0, (double) totalNameLength / count);
+        double averageDescription = Math.max(1.0, (double) totalDescriptionLength / count);
+        double nameWeight = properties.getNameWeight();
+        for (String term : ItemTokenizer.tokenize(text)) {
+            PostingList postings = index.get(term);
+            if (postings.isEmpty()) {
+                continue;
+            }
+            double idf = Math.log(1 + (count - postings.size() + 0.5) / (postings.size() + 0.5));
+            PostingList.Cursor cursor = postings.cursor();
+            for (int id = cursor.next(); id != PostingList.NO_MORE; id = cursor.next()) {
+                Document document = documents.get(id);
+                if (document == null) {
+                    continue;
+                }
+                double frequency = nameWeight * document.name.getOrDefault(term, 0)
+                        / (1 - B + B * document.nameLength / averageName)
+                        + document.description.getOrDefault(term, 0)
+                        / (1 - B + B * document.descriptionLength / averageDescription);
+                scores.merge(id, idf * frequency / (K1 + frequency), Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    static int[] top(Map<Integer, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(Math.min(limit, Math.max(1, scores.size())), WORST_FIRST);
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (WORST_FIRST.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        int[] result = new int[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap.poll().getKey();
+        }
+        return result;
+    }
+
+    private static final class Document {
+        private final Map<String, Integer> name;
+        private final Map<String, Integer> description;
+        private final int nameLength;
+        private final int descriptionLength;
+
+        private Document(List<String> nameTokens, List<String> descriptionTokens) {
+            this.name = frequencies(nameTokens);
+            this.description = frequencies(descriptionTokens);
+            this.nameLength = nameTokens.size();
+            this.descriptionLength = descriptionTokens.size();
+        }
+
+        private static Map<String, Integer> frequencies(List<String> tokens) {
+            Map<String, Integer> result = new HashMap<>();
+            for (String token : tokens) {
+                result.merge(token, 1, Integer::sum);
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public boolean requiresAllWords() {
+        return false;
+    }
+}
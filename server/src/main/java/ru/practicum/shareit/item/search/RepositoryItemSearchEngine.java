@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "repository", matchIfMissing = true)
+public class RepositoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.findByDescriptionContainingIgnoreCaseAndAvailableIsTrue(text.toLowerCase(), pageable)
+                .getContent();
+    }
+
+    @Override
+    public ItemSearchSlice searchAfter(String text, ItemSearchCursor cursor, int size) {
+        long afterId = cursor == null ? 0 : cursor.getId();
+        List<Item> items = itemRepository.findByDescriptionContainingIgnoreCaseAndAvailableIsTrueAndIdGreaterThanOrderById(
+                text.toLowerCase(), afterId, PageRequest.of(0, size + 1));
+        if (items.size() <= size) {
+            return new ItemSearchSlice(items, null);
+        }
+        List<Item> page = items.subList(0, size);
+        return new ItemSearchSlice(page, ItemSearchCursor.after(page.get(size - 1).getId()));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Лёгкий стеммер для русского языка: отсекает падежные и родовые окончания существительных
+ * и прилагательных, не трогая приставки и суффиксы. Слова с нерусскими буквами не изменяются.
+ */
+public final class RussianLightStemmer {
+    private static final String[][] ENDINGS = {
+            new String[]{"иями", "оями"},
+            new String[]{"иям", "иях", "оях", "ами", "ями", "ого", "его", "ему", "ому", "ыми", "ими", "ией"},
+            new String[]{"ам", "ям", "ах", "ях", "ей", "ой", "ий", "ый", "ые", "ие", "ое", "ее", "ая", "яя", "ую", "юю",
+                    "ом", "ем", "ов", "ев", "ия", "ья", "ию", "ью", "ых", "их", "ми"},
+            new String[]{"а", "е", "и", "й", "о", "у", "ы", "ь", "ю", "я"}
+    };
+    private static final int MIN_STEM = 3;
+
+    private RussianLightStemmer() {
+    }
+
+    public static String stem(String word) {
+        if (!isRussian(word)) {
+            return word;
+        }
+        int length = removeEnding(word);
+        if (length > MIN_STEM && (word.charAt(length - 1) == 'ь' || word.charAt(length - 1) == 'и')) {
+            length--;
+        }
+        if (length > MIN_STEM && word.charAt(length - 1) == 'н' && word.charAt(length - 2) == 'н') {
+            length--;
+        }
+        return word.substring(0, length);
+    }
+
+    private static int removeEnding(String word) {
+        for (String[] endings : ENDINGS) {
+            int endingLength = endings[0].length();
+            if (word.length() - endingLength < MIN_STEM) {
+                continue;
+            }
+            for (String ending : endings) {
+                if (word.endsWith(ending)) {
+                    return word.length() - endingLength;
+                }
+            }
+        }
+        return word.length();
+    }
+
+    private static boolean isRussian(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'а' || c > 'я') {
+                return false;
+            }
+        }
+        return !word.isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Индекс, разбитый на сегменты по остатку от деления id вещи. Запрос выполняется во всех сегментах
+ * параллельно в собственном пуле, лучшие {@code limit} попаданий каждого сегмента сливаются в общую выдачу.
+ * Ранжирующий движок считает статистику корпуса по своему сегменту, поэтому оценки приблизительны
+ * так же, как в любом распределённом индексе.
+ */
+public class SegmentedItemSearchEngine extends IndexedItemSearchEngine {
+    private final Supplier<IndexedItemSearchEngine> segmentFactory;
+    private final List<IndexedItemSearchEngine> segments;
+    private final List<Timer> timers;
+    private final ForkJoinPool pool;
+
+    public SegmentedItemSearchEngine(ItemRepository itemRepository, ItemSearchProperties properties,
+                                     Supplier<IndexedItemSearchEngine> segmentFactory, MeterRegistry meterRegistry) {
+        super(itemRepository, properties);
+        this.segmentFactory = segmentFactory;
+        ItemSearchProperties.Segments settings = properties.getSegments();
+        this.segments = new ArrayList<>(settings.getCount());
+        this.timers = new ArrayList<>(settings.getCount());
+        for (int i = 0; i < settings.getCount(); i++) {
+            segments.add(segmentFactory.get());
+            timers.add(Timer.builder("items.search.segment")
+                    .tag("segment", String.valueOf(i))
+                    .description("Время поиска в сегменте индекса вещей")
+                    .register(meterRegistry));
+        }
+        this.pool = new ForkJoinPool(settings.getPoolSize());
+    }
+
+    @Override
+    public void clear() {
+        segments.forEach(ItemIndex::clear);
+    }
+
+    @Override
+    public void built() {
+        segments.forEach(ItemIndex::built);
+    }
+
+    @Override
+    protected IndexedItemSearchEngine emptyCopy() {
+        return segmentFactory.get();
+    }
+
+    @Override
+    protected void index(ItemDto item) {
+        segment(ItemIndex.toDocId(item.getId())).put(item);
+    }
+
+    @Override
+    protected void remove(int id) {
+        segment(id).remove(id);
+    }
+
+    @Override
+    protected int[] match(String text, int limit) {
+        return hits(text, limit).getIds();
+    }
+
+    @Override
+    protected ItemSearchHits hits(String text, int limit) {
+        List<ForkJoinTask<ItemSearchHits>> tasks = new ArrayList<>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            IndexedItemSearchEngine segment = segments.get(i);
+            Timer timer = timers.get(i);
+            tasks.add(pool.submit(() -> timer.record(() -> segment.hits(text, limit))));
+        }
+        List<ItemSearchHits> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ItemSearchHits> task : tasks) {
+            results.add(task.join());
+        }
+        return merge(results, limit);
+    }
+
+    @Override
+    public boolean requiresAllWords() {
+        return segments.get(0).requiresAllWords();
+    }
+
+    @Override
+    public boolean stemsWords() {
+        return segments.get(0).stemsWords();
+    }
+
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    static ItemSearchHits merge(List<ItemSearchHits> results, int limit) {
+        boolean scored = results.stream().anyMatch(hits -> hits.getScores() != null);
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> {
+            ItemSearchHits left = results.get(a[0]);
+            ItemSearchHits right = results.get(b[0]);
+            int byScore = Double.compare(right.score(b[1]), left.score(a[1]));
+            return byScore != 0 ? byScore : Integer.compare(left.getIds()[a[1]], right.getIds()[b[1]]);
+        });
+        long total = 0;
+        for (int i = 0; i < results.size(); i++) {
+            total += results.get(i).size();
+            if (results.get(i).size() > 0) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        int count = (int) Math.min(limit, total);
+        int[] ids = new int[count];
+        double[] scores = scored ? new double[count] : null;
+        for (int i = 0; i < count; i++) {
+            int[] head = heads.poll();
+            ItemSearchHits hits = results.get(head[0]);
+            ids[i] = hits.getIds()[head[1]];
+            if (scored) {
+                scores[i] = hits.score(head[1]);
+            }
+            if (++head[1] < hits.size()) {
+                heads.add(head);
+            }
+        }
+        return new ItemSearchHits(ids, scores);
+    }
+
+    private IndexedItemSearchEngine segment(int id) {
+        return segments.get(Math.floorMod(id, segments.size()));
+    }
+}
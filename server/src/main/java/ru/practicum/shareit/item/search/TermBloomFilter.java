@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума по строковым термам. Потокобезопасен без блокировок: биты только взводятся,
+ * поэтому ответ «терма нет» всегда точен, а «терм, возможно, есть» ошибается с вероятностью
+ * {@link #expectedFpp()}.
+ */
+public class TermBloomFilter {
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong bitCount = new AtomicLong();
+
+    public TermBloomFilter(long expectedInsertions, double fpp) {
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int length = Math.toIntExact(Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        this.words = new AtomicLongArray(length);
+        this.bitSize = (long) length * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String term) {
+        long hash = hash(term);
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            set(index(low + i * high));
+        }
+    }
+
+    public boolean mightContain(String term) {
+        long hash = hash(term);
+        int low = (int) hash;
+        int high = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(low + i * high);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Оценка доли ложноположительных ответов по текущей заполненности битового массива.
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount.get() / bitSize, hashCount);
+    }
+
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0L);
+        }
+        bitCount.set(0);
+    }
+
+    private long index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitSize;
+    }
+
+    private void set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        bitCount.incrementAndGet();
+    }
+
+    private static long hash(String term) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : term.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
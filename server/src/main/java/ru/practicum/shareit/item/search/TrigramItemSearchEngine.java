@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Поиск по подстроке описания, как у {@code findByDescriptionContainingIgnoreCase}:
+ * кандидаты отбираются пересечением триграмм запроса, затем проверяются точным вхождением.
+ */
+public class TrigramItemSearchEngine extends IndexedItemSearchEngine {
+    private static final int GRAM = 3;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final Map<Integer, String> descriptions = new ConcurrentSkipListMap<>();
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository, ItemSearchProperties properties) {
+        super(itemRepository, properties);
+    }
+
+    @Override
+    protected IndexedItemSearchEngine emptyCopy() {
+        return new TrigramItemSearchEngine(itemRepository, properties);
+    }
+
+    @Override
+    protected void index(ItemDto item) {
+        int id = ItemIndex.toDocId(item.getId());
+        String description = normalize(item.getDescription());
+        index.put(id, trigrams(description));
+        descriptions.put(id, description);
+    }
+
+    @Override
+    protected void remove(int id) {
+        index.remove(id);
+        descriptions.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        descriptions.clear();
+    }
+
+    @Override
+    public void built() {
+        index.built();
+    }
+
+    @Override
+    protected int[] match(String text, int limit) {
+        String query = normalize(text);
+        if (query.length() < GRAM) {
+            return descriptions.entrySet().stream()
+                    .filter(entry -> entry.getValue().contains(query))
+                    .mapToInt(Map.Entry::getKey)
+                    .toArray();
+        }
+        int[] candidates = index.intersect(trigrams(query));
+        int count = 0;
+        for (int id : candidates) {
+            String description = descriptions.get(id);
+            if (description != null && description.contains(query)) {
+                candidates[count++] = id;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
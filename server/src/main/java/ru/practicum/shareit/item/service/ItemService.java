@@ -1,22 +1,67 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetsDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemOutDto findById(Long userId, Long itemId);
 
-    List<ItemOutDto> getAllItemsOwner(Long ownerId,Integer from, Integer size);
+    Slice<ItemOutDto> getAllItemsOwner(Long ownerId,Integer from, Integer size);
+
+    /**
+     * Приблизительное число вещей владельца; значение кешируется и может отставать.
+     */
+    long countItemsOwner(Long ownerId);
 
     ItemOutDto saveItem(ItemDto itemDto, Long userId);
 
     ItemOutDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
+    /**
+     * Проверяет владельца и возвращает выгрузку всех его вещей с последним и следующим бронированием.
+     */
+    ItemStream<ItemOutDto> streamAllItemsOwner(Long ownerId);
+
     List<ItemDto> searchBy(String text,Integer from, Integer size);
 
+    /**
+     * Ищет доступные вещи по тексту, у которых нет подтверждённых или ожидающих броней, пересекающих [start, end).
+     */
+    List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
+
+    ItemStream<ItemDto> streamSearch(String text);
+
+    ItemPageDto searchAfter(String text, String cursor, Integer size);
+
+    /**
+     * Счётчики по фасетам для вещей, подходящих под запрос, включая недоступные;
+     * с периодом — для той же выдачи, что и поиск свободных вещей.
+     */
+    ItemFacetsDto facets(String text, LocalDateTime start, LocalDateTime end, Integer ownerLimit);
+
+    List<SuggestionDto> suggest(String prefix, Integer size);
+
+    /**
+     * Свободные промежутки вещи в [from, to) с учётом подтверждённых и ожидающих броней.
+     */
+    List<IntervalDto> availability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Свободные промежутки нескольких вещей за один вызов; несуществующие вещи в ответ не попадают.
+     */
+    List<ItemAvailabilityDto> availability(ItemAvailabilityRequestDto request);
+
     CommentOutDto addComment(Long userId, Long itemId, CommentDto requestDto);
 }
@@ -1,85 +1,139 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.dto.BookingOutDto;
-import ru.practicum.shareit.booking.dto.BookingShortOutDto;
-import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetsDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.ItemFacetIndex;
+import ru.practicum.shareit.item.search.ItemIndex;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchSlice;
+import ru.practicum.shareit.item.search.ItemTermFilter;
+import ru.practicum.shareit.item.search.ItemTermSuggester;
+import ru.practicum.shareit.listing.ListingTotals;
 import ru.practicum.shareit.user.dto.UserOutDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.enums.Status.APPROVED;
-import static ru.practicum.shareit.booking.enums.Status.REJECTED;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int STREAM_CHUNK_SIZE = Integer.parseInt(ItemRepository.STREAM_FETCH_SIZE);
+
     private final ItemMapper itemMapper;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final BookingRepository bookingRepository;
-    private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
     private final CommentRepository commentRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemTermSuggester itemTermSuggester;
+    private final ItemTermFilter itemTermFilter;
+    private final ItemFacetIndex itemFacetIndex;
+    private final BookingSchedule bookingSchedule;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ListingTotals listingTotals;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
 
     @Override
     public ItemOutDto findById(Long userId, Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Товар " + itemId + " не найден"));
         ItemOutDto itemOutDto = itemMapper.toOutDTO(item);
-        List<BookingOutDto> bookings = bookingMapper.toListOutDTO(bookingRepository.findAllByItem_IdAndStatusIsNot(itemId, REJECTED));
-        List<CommentOutDto> comments = commentMapper.toListOutDTOCom(commentRepository.findAllByItem_IdOrderByCreatedDesc(itemId));
+        itemOutDto.setComments(commentMapper.toListOutDTOCom(commentRepository.findAllByItem_IdOrderByCreatedDesc(itemId)));
         if (item.getOwner().getId().equals(userId)) {
-            LocalDateTime now = LocalDateTime.now();
-            itemOutDto.setComments(comments);
-            return addLastAndNextBooking(itemOutDto, bookings, now);
-        } else {
-            itemOutDto.setComments(comments);
-            return itemOutDto;
+            itemBookingSummaries.apply(List.of(itemOutDto), LocalDateTime.now());
         }
+        return itemOutDto;
     }
 
     @Override
-    public List<ItemOutDto> getAllItemsOwner(Long ownerId, Integer from, Integer size) {
+    public Slice<ItemOutDto> getAllItemsOwner(Long ownerId, Integer from, Integer size) {
         isExistUserInDb(ownerId);
         Pageable pageable = PageRequest.of(from / size, size);
-        List<ItemOutDto> itemOutDtoList = itemMapper.toListOutDTO(itemRepository.findAllByOwner_IdOrderById(ownerId, pageable).getContent());
-        List<Long> itemIds = itemOutDtoList.stream()
-                .map(ItemOutDto::getId)
-                .collect(Collectors.toList());
-        List<BookingOutDto> bookings = bookingMapper.toListOutDTO(bookingRepository.findAllByItem_IdInAndStatusIsNot(itemIds, REJECTED, pageable).getContent());
-        Map<Long, List<BookingOutDto>> bookingsWithItemsId = bookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Slice<Item> items = itemRepository.findAllByOwner_IdOrderById(ownerId, pageable);
+        List<ItemOutDto> itemOutDtoList = itemMapper.toListOutDTO(items.getContent());
+        itemBookingSummaries.apply(itemOutDtoList, LocalDateTime.now());
+        return new SliceImpl<>(itemOutDtoList, pageable, items.hasNext());
+    }
 
-        LocalDateTime now = LocalDateTime.now();
-        for (ItemOutDto itemOutDto : itemOutDtoList) {
-            addLastAndNextBooking(itemOutDto, bookingsWithItemsId.get(itemOutDto.getId()), now);
+    @Override
+    public long countItemsOwner(Long ownerId) {
+        return listingTotals.get("items:owner:" + ownerId, () -> itemRepository.countByOwner_Id(ownerId));
+    }
+
+    @Override
+    public ItemStream<ItemOutDto> streamAllItemsOwner(Long ownerId) {
+        isExistUserInDb(ownerId);
+        return action -> readOnly(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ItemOutDto> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            try (Stream<ItemDto> items = itemRepository.streamAllByOwner(ownerId)) {
+                items.forEach(item -> {
+                    chunk.add(itemMapper.dtoToOutDTO(item));
+                    if (chunk.size() == STREAM_CHUNK_SIZE) {
+                        emitChunk(chunk, now, action);
+                    }
+                });
+            }
+            emitChunk(chunk, now, action);
+        });
+    }
+
+    private void emitChunk(List<ItemOutDto> chunk, LocalDateTime now, Consumer<? super ItemOutDto> action) {
+        if (chunk.isEmpty()) {
+            return;
         }
-        return itemOutDtoList;
+        itemBookingSummaries.apply(chunk, now);
+        entityManager.clear();
+        chunk.forEach(action);
+        chunk.clear();
     }
 
     @Override
@@ -87,7 +141,9 @@ public class ItemServiceImpl implements ItemService {
     public ItemOutDto saveItem(ItemDto itemDto, Long userId) {
         isExistUserInDb(userId);
         itemDto.setOwnerId(userId);
-        return itemMapper.toOutDTO(itemRepository.save(itemMapper.toModel(itemDto)));
+        Item item = itemRepository.save(itemMapper.toModel(itemDto));
+        eventPublisher.publishEvent(new ItemChangedEvent(null, itemMapper.toDTO(item)));
+        return itemMapper.toOutDTO(item);
     }
 
     @Override
@@ -99,6 +155,7 @@ public class ItemServiceImpl implements ItemService {
         if (!item.getOwner().getId().equals(userId)) {
             throw new NotFoundException("Данный пользователь не является владельцем товара!");
         }
+        ItemDto previous = itemMapper.toDTO(item);
         if (itemDto.getName() != null) {
             item.setName(itemDto.getName());
         }
@@ -109,19 +166,151 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.getAvailable());
         }
         itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(previous, itemMapper.toDTO(item)));
         return itemMapper.toOutDTO(item);
     }
 
     @Override
     public List<ItemDto> searchBy(String text, Integer from, Integer size) {
-        if (text.isEmpty()) {
+        if (text.isEmpty() || cannotMatch(text)) {
+            return Collections.emptyList();
+        }
+        Pageable pageable = PageRequest.of(from / size, size);
+        return itemSearchCache.get(text, pageable, () -> itemSearchEngine.search(text, pageable)
+                .stream()
+                .map(itemMapper::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ItemDto> searchAvailable(String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size) {
+        if (start == null || end == null) {
+            throw new BadRequestException("Для поиска свободных вещей нужно указать обе даты");
+        }
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("Дата окончания должна быть позже даты начала");
+        }
+        if (text.isEmpty() || !itemTermFilter.mightMatch(text)) {
             return Collections.emptyList();
         }
         Pageable pageable = PageRequest.of(from / size, size);
-        return itemRepository.findByDescriptionContainingIgnoreCaseAndAvailableIsTrue(text.toLowerCase(), pageable)
+        return itemRepository.findAvailableBetween(ItemRepository.likePattern(text), start, end, BookingSchedule.BLOCKING_STATUSES, pageable)
+                .stream()
+                .map(itemMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ItemStream<ItemDto> streamSearch(String text) {
+        if (text.isEmpty()) {
+            return action -> {
+            };
+        }
+        String pattern = ItemRepository.likePattern(text);
+        return action -> readOnly(() -> {
+            try (Stream<ItemDto> items = itemRepository.streamAvailableByDescription(pattern)) {
+                items.forEach(action);
+            }
+        });
+    }
+
+    private void readOnly(Runnable work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> work.run());
+    }
+
+    @Override
+    public ItemPageDto searchAfter(String text, String cursor, Integer size) {
+        ItemSearchCursor after = ItemSearchCursor.decode(cursor);
+        if (text.isEmpty() || cannotMatch(text)) {
+            return new ItemPageDto(Collections.emptyList(), null);
+        }
+        if (after == null) {
+            return itemSearchCache.getFirstPage(text, size, () -> searchPage(text, null, size));
+        }
+        return searchPage(text, after, size);
+    }
+
+    private ItemPageDto searchPage(String text, ItemSearchCursor after, int size) {
+        ItemSearchSlice slice = itemSearchEngine.searchAfter(text, after, size);
+        List<ItemDto> items = slice.getItems()
                 .stream()
                 .map(itemMapper::toDTO)
                 .collect(Collectors.toList());
+        return new ItemPageDto(items, slice.getNext() == null ? null : slice.getNext().encode());
+    }
+
+    @Override
+    public ItemFacetsDto facets(String text, LocalDateTime start, LocalDateTime end, Integer ownerLimit) {
+        if (start == null || end == null) {
+            return itemFacetIndex.facets(text, ownerLimit);
+        }
+        int[] matches = text.isEmpty() || !itemTermFilter.mightMatch(text) ? new int[0]
+                : toDocIds(itemRepository.findAvailableIdsBetween(ItemRepository.likePattern(text), start, end,
+                BookingSchedule.BLOCKING_STATUSES));
+        return itemFacetIndex.facets(matches, ownerLimit);
+    }
+
+    private static int[] toDocIds(List<Long> ids) {
+        return ids.stream().mapToInt(ItemIndex::toDocId).toArray();
+    }
+
+    private boolean cannotMatch(String text) {
+        return itemSearchEngine.requiresAllWords() && !itemTermFilter.mightMatch(text, itemSearchEngine.stemsWords());
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String prefix, Integer size) {
+        if (prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        return itemTermSuggester.suggest(prefix, size)
+                .stream()
+                .map(completion -> new SuggestionDto(completion.getTerm(), completion.getCount()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<IntervalDto> availability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new BadRequestException("Дата окончания должна быть позже даты начала");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Товар " + itemId + " не найден");
+        }
+        return bookingSchedule.freeIntervals(itemId, from, to);
+    }
+
+    @Override
+    public List<ItemAvailabilityDto> availability(ItemAvailabilityRequestDto request) {
+        if (request.getItemIds() == null || request.getItemIds().isEmpty()) {
+            throw new BadRequestException("Не указаны вещи");
+        }
+        if (request.getStart() == null || request.getEnd() == null) {
+            throw new BadRequestException("Для поиска свободных вещей нужно указать обе даты");
+        }
+        if (!request.getEnd().isAfter(request.getStart())) {
+            throw new BadRequestException("Дата окончания должна быть позже даты начала");
+        }
+        Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(request.getItemIds()));
+        List<Long> itemIds = request.getItemIds().stream()
+                .filter(existing::contains)
+                .distinct()
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return bookingSchedule.freeIntervals(itemIds, request.getStart(), request.getEnd())
+                .entrySet()
+                .stream()
+                .map(entry -> new ItemAvailabilityDto(entry.getKey(),
+                        isWholeWindow(entry.getValue(), request.getStart(), request.getEnd()), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isWholeWindow(List<IntervalDto> free, LocalDateTime start, LocalDateTime end) {
+        return free.size() == 1 && free.get(0).getStart().equals(start) && free.get(0).getEnd().equals(end);
     }
 
     @Override
@@ -150,21 +339,4 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException("Пользователь " + userId + " не найден");
         }
     }
-
-    private ItemOutDto addLastAndNextBooking(ItemOutDto itemOutDto, List<BookingOutDto> bookings, LocalDateTime now) {
-        if (bookings == null) {
-            return itemOutDto;
-        }
-        BookingShortOutDto lastBooking = bookingMapper.toShortOutDTO(bookings.stream()
-                .filter(booking -> booking.getStart().isBefore(now))
-                .max(Comparator.comparing(BookingOutDto::getStart))
-                .orElse(null));
-        BookingShortOutDto nextBooking = bookingMapper.toShortOutDTO(bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(now))
-                .min(Comparator.comparing(BookingOutDto::getStart))
-                .orElse(null));
-        itemOutDto.setLastBooking(lastBooking);
-        itemOutDto.setNextBooking(nextBooking);
-        return itemOutDto;
-    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Отложенная выгрузка строк: запрос к базе выполняется только при вызове {@link #forEach}.
+ */
+@FunctionalInterface
+public interface ItemStream<T> {
+    void forEach(Consumer<? super T> action);
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.listing;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public final class ListingResponses {
+    public static final String X_HAS_NEXT = "X-Has-Next";
+
+    private ListingResponses() {
+    }
+
+    /**
+     * Тело ответа — содержимое среза, признак следующей страницы — в заголовке X-Has-Next.
+     */
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice) {
+        return ResponseEntity.ok()
+                .header(X_HAS_NEXT, Boolean.toString(slice.hasNext()))
+                .body(slice.getContent());
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.listing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Приблизительные размеры списков. Списки отдаются срезами без COUNT, а общее число
+ * считается отдельным запросом и кешируется на время ttl, поэтому может отставать от данных.
+ */
+@Component
+public class ListingTotals {
+    private final Cache<String, Long> totals;
+
+    public ListingTotals(@Value("${shareit.listing.total.expire-after-write:PT1M}") Duration expireAfterWrite,
+                         @Value("${shareit.listing.total.maximum-size:10000}") long maximumSize) {
+        this.totals = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public long get(String key, LongSupplier count) {
+        return totals.get(key, ignored -> count.getAsLong());
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.listing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TotalDto {
+    private Long total;
+}
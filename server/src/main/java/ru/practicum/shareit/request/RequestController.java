@@ -3,7 +3,10 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.listing.ListingResponses;
+import ru.practicum.shareit.listing.dto.TotalDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
@@ -33,11 +36,17 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestDto> findByAll(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                      @RequestParam Integer from,
-                                      @RequestParam Integer size) {
+    public ResponseEntity<List<RequestDto>> findByAll(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                      @RequestParam Integer from,
+                                                      @RequestParam Integer size) {
         log.info("Получен запрос GET, на получения всех запросов.");
-        return requestService.findByAll(userId, from, size);
+        return ListingResponses.of(requestService.findByAll(userId, from, size));
+    }
+
+    @GetMapping("/all/total")
+    public TotalDto countByAll(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+        log.info("Получен запрос GET, на получение числа всех запросов.");
+        return new TotalDto(requestService.countByAll(userId));
     }
 
     @GetMapping("/{requestId}")
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
@@ -10,7 +10,9 @@ import java.util.List;
 
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
-    Page<Request> findAllByRequesterNotOrderByCreatedDesc(User requester, Pageable pageable);
+    Slice<Request> findAllByRequesterNotOrderByCreatedDesc(User requester, Pageable pageable);
+
+    long countByRequesterNot(User requester);
 
     List<Request> findAllByRequesterOrderByCreatedDesc(User requester);
 }
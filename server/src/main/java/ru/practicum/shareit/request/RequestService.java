@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import java.util.List;
@@ -9,7 +10,12 @@ public interface RequestService {
 
     List<RequestDto> findAllByRequest(Long userId);
 
-    List<RequestDto> findByAll(Long userId, Integer from, Integer size);
+    Slice<RequestDto> findByAll(Long userId, Integer from, Integer size);
+
+    /**
+     * Приблизительное число чужих запросов; значение кешируется и может отставать.
+     */
+    long countByAll(Long userId);
 
     RequestDto findById(Long userId,Long requestId);
 }
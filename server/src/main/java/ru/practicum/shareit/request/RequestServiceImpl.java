@@ -3,11 +3,14 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.listing.ListingTotals;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.request.model.Request;
@@ -27,6 +30,7 @@ public class RequestServiceImpl implements RequestService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
+    private final ListingTotals listingTotals;
 
     @Override
     @Transactional
@@ -48,12 +52,19 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
-    public List<RequestDto> findByAll(Long userId, Integer from, Integer size) {
+    public Slice<RequestDto> findByAll(Long userId, Integer from, Integer size) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь " + userId + " не найден"));
         Pageable pageable = PageRequest.of(from / size, size);
-        List<Request> requestList = requestRepository.findAllByRequesterNotOrderByCreatedDesc(user, pageable).getContent();
-        return getRequestDtoListSetItem(requestList);
+        Slice<Request> requests = requestRepository.findAllByRequesterNotOrderByCreatedDesc(user, pageable);
+        return new SliceImpl<>(getRequestDtoListSetItem(requests.getContent()), pageable, requests.hasNext());
+    }
+
+    @Override
+    public long countByAll(Long userId) {
+        return listingTotals.get("requests:all:" + userId, () -> requestRepository.countByRequesterNot(
+                userRepository.findById(userId)
+                        .orElseThrow(() -> new NotFoundException("Пользователь " + userId + " не найден"))));
     }
 
     @Override
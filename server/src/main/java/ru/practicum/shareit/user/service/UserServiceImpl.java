@@ -2,16 +2,27 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.schedule.BookingDeletedEvent;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.booking.schedule.ItemBookingLocks;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidEmailException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -20,6 +31,11 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemBookingLocks itemBookingLocks;
+    private final ItemBookingSummaries itemBookingSummaries;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDto findById(Long id) {
@@ -45,7 +61,19 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void delete(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> bookedItemIds = bookingRepository.findBookedItemIdsByBooker(id);
+        itemBookingLocks.lockAllUntilCompletion(bookedItemIds);
+        try (Stream<ItemDto> items = itemRepository.streamAllByOwner(id)) {
+            items.forEach(item -> eventPublisher.publishEvent(new ItemChangedEvent(item, null)));
+        }
+        bookingRepository.findActiveByParticipant(id, BookingSchedule.BLOCKING_STATUSES, now)
+                .forEach(booking -> eventPublisher.publishEvent(new BookingDeletedEvent(booking)));
         userRepository.deleteById(id);
+        if (!bookedItemIds.isEmpty()) {
+            userRepository.flush();
+            itemBookingSummaries.refresh(bookedItemIds, now);
+        }
     }
 
     @Override
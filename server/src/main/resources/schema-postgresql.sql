@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_no_overlap
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (booking_status IN ('WAITING', 'APPROVED'));
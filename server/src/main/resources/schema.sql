@@ -1,4 +1,4 @@
-DROP TABLE IF EXISTS bookings, comments, items, requests, users ;
+DROP TABLE IF EXISTS item_booking_summary, bookings, comments, items, requests, users ;
 
 CREATE TABLE IF NOT EXISTS users
 (
@@ -22,9 +22,13 @@ CREATE TABLE IF NOT EXISTS items
     description  VARCHAR(200) NOT NULL,
     is_available BOOLEAN DEFAULT FALSE,
     owner_id     INTEGER REFERENCES users (id) ON DELETE CASCADE,
-    request_id   INTEGER REFERENCES requests (id) ON DELETE CASCADE
+    request_id   INTEGER REFERENCES requests (id) ON DELETE CASCADE,
+    updated      TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX IF NOT EXISTS items_updated_idx ON items (updated);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+
 CREATE TABLE IF NOT EXISTS comments
 (
     id        INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -43,3 +47,22 @@ CREATE TABLE IF NOT EXISTS bookings
     booker_id  INTEGER REFERENCES users (id) ON DELETE CASCADE,
     item_id    INTEGER REFERENCES items (id) ON DELETE CASCADE
 );
+
+CREATE INDEX IF NOT EXISTS bookings_item_start_end_idx ON bookings (item_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS bookings_booker_end_id_idx ON bookings (booker_id, end_date, id);
+
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+    item_id         INTEGER PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+    last_booking_id INTEGER,
+    last_booker_id  INTEGER,
+    last_start_date TIMESTAMP WITHOUT TIME ZONE,
+    last_end_date   TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id INTEGER,
+    next_booker_id  INTEGER,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+    next_end_date   TIMESTAMP WITHOUT TIME ZONE,
+    version         BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_start_idx ON item_booking_summary (next_start_date);
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void whenManyThreadsBookSameItems_thenNoActiveBookingsOverlap() throws Exception {
+        User owner = userRepository.save(User.builder().name("owner").email("stress-owner@example.com").build());
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(User.builder().name("booker" + i).email("stress" + i + "@example.com").build()));
+        }
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            itemIds.add(itemRepository.save(Item.builder()
+                    .name("Дрель " + i)
+                    .description("Дрель для нагрузочного теста")
+                    .available(true)
+                    .owner(owner)
+                    .build()).getId());
+        }
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Long bookerId = bookers.get(t).getId();
+            Random random = new Random(t);
+            Callable<Void> task = () -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDateTime from = BASE.plusHours(random.nextInt(200));
+                    BookingDto dto = BookingDto.builder()
+                            .itemId(itemIds.get(random.nextInt(itemIds.size())))
+                            .start(from)
+                            .end(from.plusHours(1 + random.nextInt(6)))
+                            .build();
+                    try {
+                        BookingOutDto booking = bookingService.saveBooking(bookerId, dto);
+                        created.incrementAndGet();
+                        if (random.nextInt(4) == 0) {
+                            bookingService.updateBooking(owner.getId(), booking.getId(), random.nextBoolean());
+                        }
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertTrue(created.get() > 0);
+        assertTrue(rejected.get() > 0);
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, created.get() + rejected.get());
+        for (Long itemId : itemIds) {
+            List<Booking> active = bookingRepository.findAll().stream()
+                    .filter(booking -> booking.getItem().getId().equals(itemId))
+                    .filter(booking -> booking.getStatus() == Status.WAITING || booking.getStatus() == Status.APPROVED)
+                    .sorted(Comparator.comparing(Booking::getStart))
+                    .collect(Collectors.toList());
+            for (int i = 1; i < active.size(); i++) {
+                assertFalse(active.get(i).getStart().isBefore(active.get(i - 1).getEnd()),
+                        "Брони " + active.get(i - 1).getId() + " и " + active.get(i).getId() + " пересекаются");
+            }
+        }
+    }
+
+    @Test
+    void whenSameBookingApprovedConcurrently_thenOnlyOneApprovalSucceeds() throws Exception {
+        User owner = userRepository.save(User.builder().name("owner").email("approve-owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("approve-booker@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Палатка")
+                .description("Палатка для теста подтверждения")
+                .available(true)
+                .owner(owner)
+                .build());
+        BookingOutDto booking = bookingService.saveBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(BASE.plusDays(30))
+                .end(BASE.plusDays(31))
+                .build());
+
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.updateBooking(owner.getId(), booking.getId(), true);
+                    approved.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(1, approved.get());
+        assertEquals(THREADS - 1, rejected.get());
+    }
+}
@@ -35,7 +35,9 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ru.practicum.shareit.item.constant.ItemConstants.X_NEXT_CURSOR;
 import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
+import static ru.practicum.shareit.listing.ListingResponses.X_HAS_NEXT;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -319,6 +321,7 @@ class BookingControllerTest {
                         .param("size", String.valueOf(size))
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(X_HAS_NEXT, "false"))
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of())));
     }
 
@@ -531,4 +534,34 @@ class BookingControllerTest {
                 .andExpect(result -> assertEquals(Objects.requireNonNull(result.getResolvedException()).getClass(),
                         NotFoundException.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(22)
+    @SneakyThrows
+    public void testGetAllBookings_WithEmptyCursor_ResulStatusOk() {
+        mockMvc.perform(get("/bookings/owner")
+                        .header(X_SHARER_USER_ID, userId2)
+                        .param("state", "REJECTED")
+                        .param("from", String.valueOf(from))
+                        .param("size", String.valueOf(size))
+                        .param("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(X_NEXT_CURSOR))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of())));
+    }
+
+    @Test
+    @Order(23)
+    @SneakyThrows
+    public void testGetAllBookings_WithMalformedCursor_ResulStatusBadRequest() {
+        mockMvc.perform(get("/bookings")
+                        .header(X_SHARER_USER_ID, userId1)
+                        .param("state", "ALL")
+                        .param("from", String.valueOf(from))
+                        .param("size", String.valueOf(size))
+                        .param("cursor", "не-курсор")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingCursor;
+import ru.practicum.shareit.booking.query.BookingFilter;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingRepositoryQueryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = em.persist(User.builder().name("owner").email("owner@example.com").build());
+        booker = em.persist(User.builder().name("booker").email("booker@example.com").build());
+        item = em.persist(Item.builder().name("Дрель").description("Дрель ударная").available(true).owner(owner).build());
+    }
+
+    @Test
+    void whenExistsOverlapping_thenOnlyActiveIntersectingBookingsCount() {
+        Booking approved = booking(START, START.plusDays(1), Status.APPROVED);
+        booking(START.plusDays(2), START.plusDays(3), Status.REJECTED);
+        em.flush();
+
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), START.plusHours(1), START.plusHours(2),
+                BookingSchedule.BLOCKING_STATUSES, 0L));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), START.plusHours(1), START.plusHours(2),
+                BookingSchedule.BLOCKING_STATUSES, approved.getId()));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), START.plusDays(1), START.plusDays(2),
+                BookingSchedule.BLOCKING_STATUSES, 0L));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), START.plusDays(2), START.plusDays(3),
+                BookingSchedule.BLOCKING_STATUSES, 0L));
+    }
+
+    @Test
+    void whenFindAllActiveAfter_thenUnfinishedActiveBookingsAreLoadedInIdOrder() {
+        Booking waiting = booking(START, START.plusDays(1), Status.WAITING);
+        booking(START.minusDays(3), START.minusDays(2), Status.APPROVED);
+        booking(START, START.plusDays(1), Status.REJECTED);
+        Booking approved = booking(START.plusDays(2), START.plusDays(3), Status.APPROVED);
+        em.flush();
+
+        List<BookingDto> bookings = bookingRepository.findAllActiveAfter(BookingSchedule.BLOCKING_STATUSES,
+                START.minusDays(1), 0L, PageRequest.of(0, 10));
+
+        assertEquals(List.of(waiting.getId(), approved.getId()),
+                bookings.stream().map(BookingDto::getId).collect(Collectors.toList()));
+        assertEquals(item.getId(), bookings.get(0).getItemId());
+    }
+
+    @Test
+    void whenFindBusyIntervals_thenOnlyActiveIntervalsInsideWindowAreProjected() {
+        booking(START.plusDays(2), START.plusDays(3), Status.WAITING);
+        booking(START, START.plusDays(1), Status.APPROVED);
+        booking(START.plusDays(1), START.plusDays(2), Status.REJECTED);
+        booking(START.plusDays(5), START.plusDays(6), Status.APPROVED);
+        em.flush();
+
+        List<BookingDto> busy = bookingRepository.findBusyIntervals(List.of(item.getId(), item.getId() + 1), START.plusHours(12),
+                START.plusDays(4), BookingSchedule.BLOCKING_STATUSES);
+
+        assertEquals(List.of(START, START.plusDays(2)),
+                busy.stream().map(BookingDto::getStart).collect(Collectors.toList()));
+        assertEquals(item.getId(), busy.get(1).getItemId());
+    }
+
+    @Test
+    void whenFindByBookerAndOwner_thenStateFilterAndRoleOrderingApply() {
+        Booking past = booking(START.minusDays(3), START.minusDays(2), Status.APPROVED);
+        Booking current = booking(START.minusDays(1), START.plusDays(1), Status.WAITING);
+        Booking future = booking(START.plusDays(1), START.plusDays(5), Status.REJECTED);
+        Booking later = booking(START.plusDays(2), START.plusDays(3), Status.WAITING);
+        em.flush();
+        PageRequest pageable = PageRequest.of(0, 10);
+        Long ownerId = item.getOwner().getId();
+
+        assertEquals(List.of(future.getId(), later.getId(), current.getId(), past.getId()),
+                ids(bookingRepository.findByBooker(booker.getId(), BookingFilter.of(State.ALL, START), pageable)));
+        assertEquals(List.of(later.getId(), future.getId(), current.getId(), past.getId()),
+                ids(bookingRepository.findByOwner(ownerId, BookingFilter.of(State.ALL, START), pageable)));
+        assertEquals(List.of(current.getId()),
+                ids(bookingRepository.findByBooker(booker.getId(), BookingFilter.of(State.CURRENT, START), pageable)));
+        assertEquals(List.of(past.getId()),
+                ids(bookingRepository.findByOwner(ownerId, BookingFilter.of(State.PAST, START), pageable)));
+        assertEquals(List.of(future.getId(), later.getId()),
+                ids(bookingRepository.findByBooker(booker.getId(), BookingFilter.of(State.FUTURE, START), pageable)));
+        assertEquals(List.of(later.getId(), current.getId()),
+                ids(bookingRepository.findByOwner(ownerId, BookingFilter.of(State.WAITING, START), pageable)));
+        assertEquals(List.of(future.getId()),
+                ids(bookingRepository.findByBooker(booker.getId(), BookingFilter.of(State.REJECTED, START), pageable)));
+        assertTrue(bookingRepository.findByBooker(ownerId, BookingFilter.of(State.ALL, START), pageable).isEmpty());
+        assertFalse(bookingRepository.findByBooker(booker.getId(), BookingFilter.of(State.ALL, START), PageRequest.of(0, 4))
+                .hasNext());
+        assertTrue(bookingRepository.findByOwner(ownerId, BookingFilter.of(State.ALL, START), PageRequest.of(0, 3))
+                .hasNext());
+        assertEquals(2, bookingRepository.countByBooker(booker.getId(), BookingFilter.of(State.FUTURE, START)));
+        assertEquals(2, bookingRepository.countByOwner(ownerId, BookingFilter.of(State.WAITING, START)));
+    }
+
+    @Test
+    void whenFindAfterCursor_thenPagesContinueThroughEqualKeys() {
+        Booking first = booking(START, START.plusDays(2), Status.APPROVED);
+        Booking second = booking(START, START.plusDays(2), Status.WAITING);
+        Booking third = booking(START.plusDays(1), START.plusDays(1).plusHours(1), Status.APPROVED);
+        em.flush();
+        BookingFilter all = BookingFilter.of(State.ALL, START);
+        PageRequest pageable = PageRequest.of(0, 2);
+
+        List<Booking> page = bookingRepository.findByBookerAfter(booker.getId(), all, BookingCursor.FIRST, pageable);
+        assertEquals(List.of(second.getId(), first.getId()), ids(page));
+        page = bookingRepository.findByBookerAfter(booker.getId(), all,
+                new BookingCursor(first.getEnd(), first.getId()), pageable);
+        assertEquals(List.of(third.getId()), ids(page));
+
+        Long ownerId = item.getOwner().getId();
+        page = bookingRepository.findByOwnerAfter(ownerId, all,
+                new BookingCursor(third.getStart(), third.getId()), pageable);
+        assertEquals(List.of(second.getId(), first.getId()), ids(page));
+        page = bookingRepository.findByOwnerAfter(ownerId, all,
+                new BookingCursor(second.getStart(), second.getId()), pageable);
+        assertEquals(List.of(first.getId()), ids(page));
+    }
+
+    @Test
+    void whenFindLastAndNextBookings_thenEachItemGetsItsNearestBookings() {
+        Item saw = em.persist(Item.builder().name("Пила").description("Пила цепная").available(true)
+                .owner(item.getOwner()).build());
+        booking(START.minusDays(4), START.minusDays(3), Status.APPROVED);
+        Booking last = booking(START.minusDays(2), START.minusDays(1), Status.APPROVED);
+        booking(START.plusDays(1), START.plusDays(2), Status.REJECTED);
+        Booking next = booking(START.plusDays(3), START.plusDays(4), Status.WAITING);
+        booking(START.plusDays(5), START.plusDays(6), Status.APPROVED);
+        Booking sawNext = em.persist(Booking.builder().item(saw).booker(booker)
+                .start(START.plusDays(7)).end(START.plusDays(8)).status(Status.APPROVED).build());
+        em.flush();
+
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextBookings(
+                List.of(item.getId(), saw.getId()), Status.REJECTED.name(), START);
+
+        assertEquals(3, bookings.size());
+        assertEquals(List.of(last.getId()), bookings.stream()
+                .filter(booking -> booking.getItemId().equals(item.getId()) && booking.getLast())
+                .map(ItemBookingView::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(next.getId()), bookings.stream()
+                .filter(booking -> booking.getItemId().equals(item.getId()) && !booking.getLast())
+                .map(ItemBookingView::getId)
+                .collect(Collectors.toList()));
+        ItemBookingView sawBooking = bookings.stream()
+                .filter(booking -> booking.getItemId().equals(saw.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertFalse(sawBooking.getLast());
+        assertEquals(sawNext.getId(), sawBooking.getId());
+        assertEquals(booker.getId(), sawBooking.getBookerId());
+        assertEquals(sawNext.getStart(), sawBooking.getStart());
+        assertEquals(sawNext.getEnd(), sawBooking.getEnd());
+    }
+
+    private static List<Long> ids(Iterable<Booking> bookings) {
+        return StreamSupport.stream(bookings.spliterator(), false)
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end, Status status) {
+        return em.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+}
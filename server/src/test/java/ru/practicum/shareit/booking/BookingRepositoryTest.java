@@ -4,11 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingFilter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -40,38 +42,6 @@ class BookingRepositoryTest {
         assertEquals(booking, foundBooking.get());
     }
 
-    @Test
-    void whenFindAllByBookerIdOrderByEndDesc_thenBookingsAreFound() {
-        Long bookerId = 1L;
-        PageRequest pageable = PageRequest.of(0, 10);
-        List<Booking> bookings = Collections.singletonList(new Booking());
-        Page<Booking> bookingPage = new PageImpl<>(bookings, pageable, bookings.size());
-        when(bookingRepository.findAllByBookerIdOrderByEndDesc(bookerId, pageable)).thenReturn(bookingPage);
-
-        Page<Booking> foundBookings = bookingRepository.findAllByBookerIdOrderByEndDesc(bookerId, pageable);
-
-        assertFalse(foundBookings.isEmpty());
-        assertEquals(bookings.size(), foundBookings.getContent().size());
-    }
-
-    @Test
-    void whenFindAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqual_thenBookingsAreFound() {
-        Long bookerId = 1L;
-        LocalDateTime start = LocalDateTime.now().minusDays(1);
-        LocalDateTime end = LocalDateTime.now().plusDays(1);
-        PageRequest pageable = PageRequest.of(0, 10);
-        List<Booking> bookings = Collections.singletonList(new Booking());
-        Page<Booking> bookingPage = new PageImpl<>(bookings, pageable, bookings.size());
-        when(bookingRepository.findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(
-                bookerId, start, end, pageable)).thenReturn(bookingPage);
-
-        Page<Booking> foundBookings = bookingRepository.findAllByBookerIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(
-                bookerId, start, end, pageable);
-
-        assertFalse(foundBookings.isEmpty());
-        assertEquals(bookings.size(), foundBookings.getContent().size());
-    }
-
     @Test
     void whenExistsByItem_IdAndBooker_IdAndStatusAndEndIsBefore_thenCorrectResultReturned() {
         Long itemId = 1L;
@@ -88,61 +58,32 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void whenFindAllByBookerIdAndEndLessThan_thenBookingsAreFound() {
+    void whenFindByBooker_thenBookingsAreFound() {
         Long bookerId = 1L;
-        LocalDateTime end = LocalDateTime.now();
-        PageRequest pageable = PageRequest.of(0, 10);
-        List<Booking> bookings = Collections.singletonList(new Booking());
-        Page<Booking> bookingPage = new PageImpl<>(bookings, pageable, bookings.size());
-        when(bookingRepository.findAllByBookerIdAndEndLessThanOrderByEndDesc(bookerId, end, pageable)).thenReturn(bookingPage);
-
-        Page<Booking> foundBookings = bookingRepository.findAllByBookerIdAndEndLessThanOrderByEndDesc(bookerId, end, pageable);
-
-        assertFalse(foundBookings.isEmpty());
-        assertEquals(bookings.size(), foundBookings.getContent().size());
-    }
-
-    @Test
-    void whenFindAllByBookerIdAndStartGreaterThan_thenBookingsAreFound() {
-        Long bookerId = 1L;
-        LocalDateTime start = LocalDateTime.now().plusDays(1);
-        PageRequest pageable = PageRequest.of(0, 10);
-        List<Booking> bookings = Collections.singletonList(new Booking());
-        Page<Booking> bookingPage = new PageImpl<>(bookings, pageable, bookings.size());
-        when(bookingRepository.findAllByBookerIdAndStartGreaterThanOrderByEndDesc(bookerId, start, pageable)).thenReturn(bookingPage);
-
-        Page<Booking> foundBookings = bookingRepository.findAllByBookerIdAndStartGreaterThanOrderByEndDesc(bookerId, start, pageable);
-
-        assertFalse(foundBookings.isEmpty());
-        assertEquals(bookings.size(), foundBookings.getContent().size());
-    }
-
-    @Test
-    void whenFindAllByBookerIdAndStatus_thenBookingsAreFound() {
-        Long bookerId = 1L;
-        Status status = Status.APPROVED;
+        BookingFilter filter = BookingFilter.of(State.ALL, LocalDateTime.now());
         PageRequest pageable = PageRequest.of(0, 10);
         List<Booking> bookings = Collections.singletonList(new Booking());
-        Page<Booking> bookingPage = new PageImpl<>(bookings, pageable, bookings.size());
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByEndDesc(bookerId, status, pageable)).thenReturn(bookingPage);
+        Slice<Booking> bookingPage = new SliceImpl<>(bookings, pageable, false);
+        when(bookingRepository.findByBooker(bookerId, filter, pageable)).thenReturn(bookingPage);
 
-        Page<Booking> foundBookings = bookingRepository.findAllByBookerIdAndStatusOrderByEndDesc(bookerId, status, pageable);
+        Slice<Booking> foundBookings = bookingRepository.findByBooker(bookerId, filter, pageable);
 
         assertFalse(foundBookings.isEmpty());
         assertEquals(bookings.size(), foundBookings.getContent().size());
     }
 
     @Test
-    void whenFindAllByItemOwnerIdOrderByStartDesc_thenBookingsAreFound() {
+    void whenFindByOwner_thenBookingsAreFound() {
         Long ownerId = 1L;
+        BookingFilter filter = BookingFilter.of(State.WAITING, LocalDateTime.now());
         PageRequest pageable = PageRequest.of(0, 10);
         List<Booking> bookings = Collections.singletonList(new Booking());
-        Page<Booking> bookingPage = new PageImpl<>(bookings, pageable, bookings.size());
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable)).thenReturn(bookingPage);
+        Slice<Booking> bookingPage = new SliceImpl<>(bookings, pageable, false);
+        when(bookingRepository.findByOwner(ownerId, filter, pageable)).thenReturn(bookingPage);
 
-        Page<Booking> foundBookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable);
+        Slice<Booking> foundBookings = bookingRepository.findByOwner(ownerId, filter, pageable);
 
         assertFalse(foundBookings.isEmpty());
         assertEquals(bookings.size(), foundBookings.getContent().size());
     }
-}
\ No newline at end of file
+}
@@ -4,14 +4,26 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingShortOutDto;
+import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.query.BookingCursor;
+import ru.practicum.shareit.booking.schedule.BookingChangedEvent;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.booking.schedule.ItemBookingLocks;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentOutDto;
@@ -30,7 +42,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +65,16 @@ class BookingServiceTest {
     private ItemMapper itemMapper;
     @Mock
     private UserMapper userMapper;
+    @Mock
+    private BookingMapper bookingMapper;
+    @Mock
+    private BookingSchedule bookingSchedule;
+    @Mock
+    private ItemBookingLocks itemBookingLocks;
+    @Mock
+    private ItemBookingSummaries itemBookingSummaries;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     ObjectMapper objectMapper;
     @InjectMocks
@@ -206,6 +235,7 @@ class BookingServiceTest {
         Long userId = 1L;
         Long bookingId = 1L;
         Boolean approved = true;
+        when(bookingRepository.findItemIdById(bookingId)).thenReturn(Optional.of(1L));
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
         user.setId(userId);
         booking.setStatus(Status.APPROVED);
@@ -217,6 +247,7 @@ class BookingServiceTest {
         Long userId = 1L;
         Long bookingId = 1L;
         Boolean approved = false;
+        when(bookingRepository.findItemIdById(bookingId)).thenReturn(Optional.of(1L));
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
         user.setId(userId);
         booking.setStatus(Status.REJECTED);
@@ -242,4 +273,107 @@ class BookingServiceTest {
                 .build();
         assertThrows(BadRequestException.class, () -> bookingService.saveBooking(userId, bookingDto));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void saveBooking_OverlapsExistingBooking_ThrowsBadRequestException() {
+        Long userId = 2L;
+        Item item = Item.builder()
+                .available(true)
+                .build();
+        when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(itemMapper.toOutDTO(item)).thenReturn(itemOutDto);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(bookingSchedule.hasConflict(1L, bookingDto.getStart(), bookingDto.getEnd(), null)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> bookingService.saveBooking(userId, bookingDto));
+        verify(itemBookingLocks).lockUntilCompletion(1L);
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void updateBooking_ApproveOverlapping_ThrowsBadRequestException() {
+        Long userId = 1L;
+        Long bookingId = 1L;
+        user.setId(userId);
+        item.setId(5L);
+        when(bookingRepository.findItemIdById(bookingId)).thenReturn(Optional.of(5L));
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingSchedule.hasConflict(5L, booking.getStart(), booking.getEnd(), bookingId)).thenReturn(true);
+
+        assertThrows(BadRequestException.class, () -> bookingService.updateBooking(userId, bookingId, true));
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void updateBooking_Reject_PublishesChange() {
+        Long userId = 1L;
+        Long bookingId = 1L;
+        user.setId(userId);
+        item.setId(5L);
+        when(bookingRepository.findItemIdById(bookingId)).thenReturn(Optional.of(5L));
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
+
+        bookingService.updateBooking(userId, bookingId, false);
+
+        InOrder order = inOrder(itemBookingLocks, bookingRepository);
+        order.verify(itemBookingLocks).lockUntilCompletion(5L);
+        order.verify(bookingRepository).findById(bookingId);
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        verify(itemBookingSummaries).refresh(eq(List.of(5L)), any());
+    }
+
+    @Test
+    public void saveBooking_ConstraintViolation_ThrowsBadRequestException() {
+        Long userId = 2L;
+        Item item = Item.builder()
+                .available(true)
+                .build();
+        when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(itemMapper.toOutDTO(item)).thenReturn(itemOutDto);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(bookingMapper.toModel(bookingDto)).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(new DataIntegrityViolationException("bookings_no_overlap"));
+
+        assertThrows(BadRequestException.class, () -> bookingService.saveBooking(userId, bookingDto));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void findByBookerAfter_MoreRowsThanSize_ReturnsNextCursor() {
+        Long userId = 1L;
+        Booking newer = Booking.builder().id(3L).start(now.plusDays(2)).end(now.plusDays(3)).build();
+        Booking older = Booking.builder().id(2L).start(now.plusDays(1)).end(now.plusDays(2)).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(bookingRepository.findByBookerAfter(eq(userId), any(), eq(BookingCursor.FIRST), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(newer, older, booking));
+        when(bookingMapper.toListOutDTO(List.of(newer, older))).thenReturn(List.of(new BookingOutDto(), new BookingOutDto()));
+
+        BookingPageDto page = bookingService.findByBookerAfter(userId, State.ALL, "", 2);
+
+        assertEquals(2, page.getBookings().size());
+        assertEquals(new BookingCursor(older.getEnd(), older.getId()).encode(), page.getNextCursor());
+    }
+
+    @Test
+    public void findByOwnerAfter_LastPage_ReturnsNoCursor() {
+        Long ownerId = 1L;
+        String cursor = new BookingCursor(now, 5L).encode();
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(user));
+        when(bookingRepository.findByOwnerAfter(eq(ownerId), any(), eq(new BookingCursor(now, 5L)), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(booking));
+        when(bookingMapper.toListOutDTO(List.of(booking))).thenReturn(List.of(new BookingOutDto()));
+
+        BookingPageDto page = bookingService.findByOwnerAfter(ownerId, State.ALL, cursor, 2);
+
+        assertEquals(1, page.getBookings().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void findByBookerAfter_MalformedCursor_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class, () -> bookingService.findByBookerAfter(1L, State.ALL, "не-курсор", 2));
+        verify(bookingRepository, never()).findByBookerAfter(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
+
+/**
+ * Следит, чтобы списки и карточка брони загружали вещь и арендатора вместе с бронью,
+ * а не отдельным запросом на каждую строку.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingStatementCountTest {
+    private static final int BOOKERS = 4;
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).withNano(0);
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemBookingSummaries itemBookingSummaries;
+
+    private User owner;
+    private User firstBooker;
+    private User booker;
+    private Booking waiting;
+
+    @BeforeEach
+    void setUp() {
+        int run = SEQUENCE.incrementAndGet();
+        owner = userRepository.save(User.builder().name("owner").email("count-owner" + run + "@example.com").build());
+        Item drill = itemRepository.save(item("Дрель"));
+        Item saw = itemRepository.save(item("Пила"));
+        for (int i = 0; i < BOOKERS; i++) {
+            booker = userRepository.save(User.builder().name("booker" + i).email("count" + run + "-" + i + "@example.com").build());
+            if (i == 0) {
+                firstBooker = booker;
+            }
+            waiting = booking(drill, START.plusDays(i * 2));
+            booking(saw, START.plusDays(i * 2 + 1));
+        }
+        itemBookingSummaries.refresh(List.of(drill.getId(), saw.getId()), LocalDateTime.now());
+    }
+
+    @Test
+    void whenOwnerListsBookings_thenItemsAndBookersAreNotLoadedPerRow() {
+        assertStatements(2, () -> mockMvc.perform(get("/bookings/owner")
+                        .header(X_SHARER_USER_ID, owner.getId())
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BOOKERS * 2)));
+    }
+
+    @Test
+    void whenOwnerPagesByCursor_thenItemsAndBookersAreNotLoadedPerRow() {
+        assertStatements(2, () -> mockMvc.perform(get("/bookings/owner")
+                        .header(X_SHARER_USER_ID, owner.getId())
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "20")
+                        .param("cursor", "")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BOOKERS * 2)));
+    }
+
+    @Test
+    void whenBookerListsBookings_thenItemsAreNotLoadedPerRow() {
+        assertStatements(2, () -> mockMvc.perform(get("/bookings")
+                        .header(X_SHARER_USER_ID, booker.getId())
+                        .param("state", "ALL")
+                        .param("from", "0")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2)));
+    }
+
+    @Test
+    void whenBookingRead_thenSingleStatementIsUsed() {
+        assertStatements(1, () -> mockMvc.perform(get("/bookings/{bookingId}", waiting.getId())
+                        .header(X_SHARER_USER_ID, owner.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booker.id").value(booker.getId())));
+    }
+
+    @Test
+    void whenBookingApproved_thenBookingAndItemSummaryAreUpdatedWithoutPerRowLoads() {
+        assertStatements(5, () -> mockMvc.perform(patch("/bookings/{bookingId}", waiting.getId())
+                        .header(X_SHARER_USER_ID, owner.getId())
+                        .param("approved", "true")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED")));
+    }
+
+    @Test
+    void whenOwnerListsItems_thenLastAndNextBookingsComeFromSummaries() {
+        assertStatements(3, () -> mockMvc.perform(get("/items")
+                        .header(X_SHARER_USER_ID, owner.getId())
+                        .param("from", "0")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].lastBooking").doesNotExist())
+                .andExpect(jsonPath("$[0].nextBooking.bookerId").value(firstBooker.getId()))
+                .andExpect(jsonPath("$[1].nextBooking.bookerId").value(firstBooker.getId())));
+    }
+
+    private void assertStatements(long expected, Executable request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        try {
+            request.execute();
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+        long actual = statistics.getPrepareStatementCount();
+        assertTrue(actual <= expected, "Ожидалось не больше " + expected + " SQL-запросов, выполнено " + actual);
+    }
+
+    private Item item(String name) {
+        return Item.builder()
+                .name(name)
+                .description(name + " для проверки числа запросов")
+                .available(true)
+                .owner(owner)
+                .build();
+    }
+
+    private Booking booking(Item item, LocalDateTime start) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(12))
+                .status(Status.WAITING)
+                .build());
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.query;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    @Test
+    void whenEncodedAndDecoded_thenCursorIsRestored() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 10, 12, 0, 0, 123_000), 42L);
+
+        assertEquals(cursor, BookingCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void whenCursorBlank_thenDecodedAsFirstPage() {
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(""));
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(null));
+    }
+
+    @Test
+    void whenCursorMalformed_thenBadRequest() {
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("не-курсор"));
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode("NDI"));
+    }
+}
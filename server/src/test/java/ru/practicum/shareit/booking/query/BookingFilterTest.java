@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.query;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.enums.State;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.exception.UnsupportedStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingFilterTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Test
+    void whenAnyState_thenStatusListHasConstantLength() {
+        for (State state : Arrays.asList(State.ALL, State.CURRENT, State.PAST, State.FUTURE, State.WAITING, State.REJECTED)) {
+            assertEquals(Status.values().length, BookingFilter.of(state, NOW).getStatuses().size());
+        }
+    }
+
+    @Test
+    void whenPastOrFuture_thenBoundsExcludeNow() {
+        BookingFilter past = BookingFilter.of(State.PAST, NOW);
+        BookingFilter future = BookingFilter.of(State.FUTURE, NOW);
+
+        assertEquals(NOW.minus(1, ChronoUnit.MICROS), past.getEndTo());
+        assertEquals(BookingFilter.MAX_DATE, past.getStartTo());
+        assertEquals(NOW.plus(1, ChronoUnit.MICROS), future.getStartFrom());
+        assertEquals(BookingFilter.MIN_DATE, future.getEndFrom());
+    }
+
+    @Test
+    void whenNowHasNanos_thenBoundsStayStrictAtMicrosecondPrecision() {
+        LocalDateTime now = NOW.plusNanos(1_500);
+
+        assertEquals(NOW.plus(1, ChronoUnit.MICROS), BookingFilter.of(State.PAST, now).getEndTo());
+        assertEquals(NOW.plus(2, ChronoUnit.MICROS), BookingFilter.of(State.FUTURE, now).getStartFrom());
+    }
+
+    @Test
+    void whenWaiting_thenOnlyWaitingStatusIsSelected() {
+        assertEquals(Arrays.asList(Status.WAITING, Status.WAITING, Status.WAITING, Status.WAITING),
+                BookingFilter.of(State.WAITING, NOW).getStatuses());
+    }
+
+    @Test
+    void whenUnsupportedState_thenExceptionIsThrown() {
+        assertThrows(UnsupportedStatus.class, () -> BookingFilter.of(State.UNSUPPORTED_STATUS, NOW));
+    }
+}
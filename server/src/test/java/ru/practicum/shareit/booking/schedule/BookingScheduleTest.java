@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking.schedule;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingScheduleTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 10, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        schedule = new BookingSchedule(bookingRepository);
+    }
+
+    @Test
+    void whenNotBuilt_thenConflictIsCheckedInDatabase() {
+        when(bookingRepository.existsOverlapping(1L, START, START.plusDays(1), BookingSchedule.BLOCKING_STATUSES, 0L))
+                .thenReturn(true);
+
+        assertTrue(schedule.hasConflict(1L, START, START.plusDays(1), null));
+    }
+
+    @Test
+    void whenRebuilt_thenActiveBookingsBlockTheirItem() {
+        when(bookingRepository.findAllActiveAfter(eq(BookingSchedule.BLOCKING_STATUSES), any(), eq(0L), any()))
+                .thenReturn(List.of(booking(1L, 1L, Status.APPROVED), booking(2L, 2L, Status.WAITING)));
+
+        schedule.rebuild();
+
+        assertTrue(schedule.hasConflict(1L, START.plusHours(1), START.plusHours(2), null));
+        assertTrue(schedule.hasConflict(2L, START.minusHours(1), START.plusHours(1), null));
+        assertFalse(schedule.hasConflict(1L, START.plusDays(1), START.plusDays(2), null));
+        assertFalse(schedule.hasConflict(3L, START, START.plusDays(1), null));
+        assertFalse(schedule.hasConflict(1L, START, START.plusDays(1), 1L));
+    }
+
+    @Test
+    void whenBookingRejected_thenItsIntervalIsReleased() {
+        when(bookingRepository.findAllActiveAfter(any(), any(), anyLong(), any()))
+                .thenReturn(Collections.emptyList());
+        schedule.rebuild();
+        schedule.onBookingChanged(new BookingChangedEvent(booking(1L, 1L, Status.WAITING)));
+
+        assertTrue(schedule.hasConflict(1L, START, START.plusHours(1), null));
+
+        schedule.onBookingChanged(new BookingChangedEvent(booking(1L, 1L, Status.REJECTED)));
+
+        assertFalse(schedule.hasConflict(1L, START, START.plusHours(1), null));
+        verify(bookingRepository).findAllActiveAfter(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void whenBookingRejectedDuringRebuild_thenStaleBatchDoesNotRestoreIt() {
+        when(bookingRepository.findAllActiveAfter(any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            schedule.onBookingChanged(new BookingChangedEvent(booking(1L, 1L, Status.REJECTED)));
+            return List.of(booking(1L, 1L, Status.WAITING));
+        });
+
+        schedule.rebuild();
+
+        assertFalse(schedule.hasConflict(1L, START, START.plusHours(1), null));
+    }
+
+    @Test
+    void whenFreeIntervals_thenGapsBetweenActiveBookingsAreReturned() {
+        when(bookingRepository.findAllActiveAfter(any(), any(), anyLong(), any()))
+                .thenReturn(List.of(booking(1L, 1L, Status.APPROVED),
+                        new BookingDto(2L, START.plusHours(12), START.plusDays(2), 1L, 10L, Status.WAITING),
+                        new BookingDto(3L, START.plusDays(3), START.plusDays(4), 1L, 10L, Status.APPROVED)));
+        schedule.rebuild();
+
+        List<IntervalDto> free = schedule.freeIntervals(1L, START.minusDays(1), START.plusDays(5));
+
+        assertEquals(List.of(new IntervalDto(START.minusDays(1), START),
+                new IntervalDto(START.plusDays(2), START.plusDays(3)),
+                new IntervalDto(START.plusDays(4), START.plusDays(5))), free);
+        assertEquals(List.of(new IntervalDto(START.plusDays(2), START.plusDays(3))),
+                schedule.freeIntervals(1L, START.plusDays(1), START.plusDays(3).plusHours(1)));
+    }
+
+    @Test
+    void whenWindowStartsBeforeLoadedBookings_thenDatabaseIsQueried() {
+        LocalDateTime from = LocalDateTime.now().minusDays(10);
+        when(bookingRepository.findBusyIntervals(Set.of(1L, 2L), from, from.plusDays(2), BookingSchedule.BLOCKING_STATUSES))
+                .thenReturn(List.of(new BookingDto(1L, from.minusDays(1), from.plusDays(1), 1L, 10L, Status.APPROVED)));
+
+        Map<Long, List<IntervalDto>> free = schedule.freeIntervals(List.of(1L, 2L), from, from.plusDays(2));
+
+        assertEquals(List.of(new IntervalDto(from.plusDays(1), from.plusDays(2))), free.get(1L));
+        assertEquals(List.of(new IntervalDto(from, from.plusDays(2))), free.get(2L));
+    }
+
+    @Test
+    void whenFreeIntervalsForSeveralItems_thenEachItemGetsItsOwnGaps() {
+        when(bookingRepository.findAllActiveAfter(any(), any(), anyLong(), any()))
+                .thenReturn(List.of(booking(1L, 1L, Status.APPROVED), booking(2L, 2L, Status.WAITING)));
+        schedule.rebuild();
+
+        Map<Long, List<IntervalDto>> free = schedule.freeIntervals(List.of(2L, 3L, 1L), START, START.plusDays(2));
+
+        assertEquals(List.of(2L, 3L, 1L), List.copyOf(free.keySet()));
+        assertEquals(List.of(new IntervalDto(START.plusDays(1), START.plusDays(2))), free.get(1L));
+        assertEquals(List.of(new IntervalDto(START, START.plusDays(2))), free.get(3L));
+        verify(bookingRepository, never()).findBusyIntervals(any(), any(), any(), any());
+    }
+
+    @Test
+    void whenEvicted_thenEndedBookingsAreDroppedAndEarlierWindowsGoToDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto ended = new BookingDto(1L, now.minusDays(2), now.minusMinutes(1), 1L, 10L, Status.APPROVED);
+        when(bookingRepository.findAllActiveAfter(any(), any(), anyLong(), any()))
+                .thenReturn(List.of(ended, booking(2L, 2L, Status.APPROVED)));
+        schedule.rebuild();
+
+        schedule.evict();
+
+        assertTrue(schedule.hasConflict(2L, START, START.plusHours(1), null));
+        assertFalse(schedule.hasConflict(1L, now.minusDays(1), now.minusHours(1), null));
+        verify(bookingRepository).existsOverlapping(1L, now.minusDays(1), now.minusHours(1),
+                BookingSchedule.BLOCKING_STATUSES, 0L);
+        verify(bookingRepository, never()).existsOverlapping(eq(2L), any(), any(), any(), anyLong());
+    }
+
+    private static BookingDto booking(Long id, Long itemId, Status status) {
+        return new BookingDto(id, START, START.plusDays(1), itemId, 10L, status);
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.schedule;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.IntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void whenIntervalsTouch_thenTheyDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, at(10), at(20));
+
+        assertFalse(tree.overlaps(at(20), at(30), 0L));
+        assertFalse(tree.overlaps(at(0), at(10), 0L));
+        assertTrue(tree.overlaps(at(19), at(21), 0L));
+        assertTrue(tree.overlaps(at(12), at(15), 0L));
+    }
+
+    @Test
+    void whenOwnBookingExcluded_thenOnlyOthersConflict() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, at(10), at(20));
+        tree.put(2L, at(30), at(40));
+
+        assertFalse(tree.overlaps(at(10), at(20), 1L));
+        assertTrue(tree.overlaps(at(10), at(35), 1L));
+    }
+
+    @Test
+    void whenBookingMovedOrRemoved_thenOldIntervalIsForgotten() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, at(10), at(20));
+        tree.put(1L, at(50), at(60));
+
+        assertFalse(tree.overlaps(at(10), at(20), 0L));
+        assertTrue(tree.overlaps(at(55), at(56), 0L));
+
+        tree.remove(1L);
+
+        assertEquals(0, tree.size());
+        assertFalse(tree.overlaps(at(0), at(100), 0L));
+    }
+
+    @Test
+    void whenEndedIntervalsRemoved_thenLaterOnesRemain() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1L, at(10), at(20));
+        tree.put(2L, at(15), at(30));
+        tree.put(3L, at(40), at(50));
+
+        assertEquals(1, tree.removeEndedBy(at(20)));
+
+        assertEquals(2, tree.size());
+        assertFalse(tree.overlaps(at(10), at(15), 0L));
+        assertTrue(tree.overlaps(at(25), at(26), 0L));
+        assertTrue(tree.overlaps(at(45), at(46), 0L));
+    }
+
+    @Test
+    void whenCollect_thenIntersectingIntervalsComeInStartOrder() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(3L, at(30), at(40));
+        tree.put(1L, at(0), at(10));
+        tree.put(2L, at(12), at(20));
+        tree.put(4L, at(50), at(60));
+        List<IntervalDto> result = new ArrayList<>();
+
+        tree.collect(at(5), at(35), result);
+
+        assertEquals(List.of(new IntervalDto(at(0), at(10)), new IntervalDto(at(12), at(20)),
+                new IntervalDto(at(30), at(40))), result);
+    }
+
+    @Test
+    void whenRandomIntervals_thenMatchesLinearScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<int[]> intervals = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            int start = random.nextInt(10_000);
+            int[] interval = {id, start, start + 1 + random.nextInt(50)};
+            intervals.add(interval);
+            tree.put(id, at(interval[1]), at(interval[2]));
+        }
+        for (int i = 0; i < 200; i++) {
+            tree.remove(intervals.remove(random.nextInt(intervals.size()))[0]);
+        }
+        for (int query = 0; query < 2_000; query++) {
+            int start = random.nextInt(10_100);
+            int end = start + 1 + random.nextInt(30);
+            boolean expected = intervals.stream().anyMatch(interval -> interval[1] < end && start < interval[2]);
+
+            assertEquals(expected, tree.overlaps(at(start), at(end), 0L));
+        }
+    }
+
+    private static LocalDateTime at(int hours) {
+        return BASE.plusHours(hours);
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking.summary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.schedule.ItemBookingLocks;
+import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import({ItemBookingSummaries.class, ItemBookingLocks.class, BookingMapperImpl.class})
+class ItemBookingSummariesTest {
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ItemBookingSummaries summaries;
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = em.persist(User.builder().name("owner").email("owner@example.com").build());
+        booker = em.persist(User.builder().name("booker").email("booker@example.com").build());
+        item = em.persist(Item.builder().name("Дрель").description("Дрель ударная").available(true).owner(owner).build());
+    }
+
+    @Test
+    void whenRefreshed_thenSummaryHoldsNearestNonRejectedBookings() {
+        Booking last = booking(NOW.minusDays(2), Status.APPROVED);
+        booking(NOW.minusDays(1), Status.REJECTED);
+        Booking next = booking(NOW.plusDays(1), Status.WAITING);
+        booking(NOW.plusDays(2), Status.APPROVED);
+
+        summaries.refresh(List.of(item.getId()), NOW);
+        ItemOutDto itemOutDto = ItemOutDto.builder().id(item.getId()).build();
+        summaries.apply(List.of(itemOutDto), NOW);
+
+        assertEquals(last.getId(), itemOutDto.getLastBooking().getId());
+        assertEquals(booker.getId(), itemOutDto.getLastBooking().getBookerId());
+        assertEquals(next.getId(), itemOutDto.getNextBooking().getId());
+        assertEquals(next.getStart(), itemOutDto.getNextBooking().getStart());
+    }
+
+    @Test
+    void whenNextBookingStarted_thenReadFallsBackAndSweepAdvancesSummary() {
+        Booking started = booking(NOW.minusDays(1), Status.APPROVED);
+        Booking next = booking(NOW.plusDays(1), Status.APPROVED);
+        summaries.refresh(List.of(item.getId()), NOW.minusDays(2));
+        assertNull(summaryRepository.findById(item.getId()).orElseThrow().getLastBookingId());
+
+        ItemOutDto itemOutDto = ItemOutDto.builder().id(item.getId()).build();
+        summaries.apply(List.of(itemOutDto), NOW);
+
+        assertEquals(started.getId(), itemOutDto.getLastBooking().getId());
+        assertEquals(next.getId(), itemOutDto.getNextBooking().getId());
+
+        summaries.sweep();
+        em.flush();
+        em.clear();
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(started.getId(), summary.getLastBookingId());
+        assertEquals(next.getId(), summary.getNextBookingId());
+    }
+
+    @Test
+    void whenSummaryRewrittenAfterRead_thenConditionalUpdateIsSkipped() {
+        booking(NOW.plusDays(1), Status.APPROVED);
+        summaries.refresh(List.of(item.getId()), NOW);
+        em.flush();
+        em.clear();
+        ItemBookingSummary read = summaryRepository.findById(item.getId()).orElseThrow().toBuilder().build();
+        em.clear();
+
+        summaries.refresh(List.of(item.getId()), NOW);
+        read.setNextBookingId(null);
+
+        assertEquals(0, summaryRepository.updateIfUnchanged(read));
+        em.clear();
+        assertEquals(read.getVersion() + 1, summaryRepository.findById(item.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void whenRebuilt_thenMissingSummariesAreCreated() {
+        Booking next = booking(NOW.plusDays(1), Status.APPROVED);
+        em.flush();
+
+        summaries.rebuild();
+        em.flush();
+        em.clear();
+
+        ItemBookingSummary summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertNull(summary.getLastBookingId());
+        assertEquals(next.getId(), summary.getNextBookingId());
+    }
+
+    @Test
+    void whenItemHasNoSummary_thenBookingsStayEmpty() {
+        ItemOutDto itemOutDto = ItemOutDto.builder().id(item.getId()).build();
+
+        summaries.apply(List.of(itemOutDto), NOW);
+
+        assertNull(itemOutDto.getLastBooking());
+        assertNull(itemOutDto.getNextBooking());
+    }
+
+    private Booking booking(LocalDateTime start, Status status) {
+        return em.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(start.plusHours(12))
+                .status(status)
+                .build());
+    }
+}
@@ -8,28 +8,50 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingShortOutDto;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetsDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+import ru.practicum.shareit.item.dto.ItemSearchResultDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemStream;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.item.constant.ItemConstants.X_NEXT_CURSOR;
 import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
+import static ru.practicum.shareit.listing.ListingResponses.X_HAS_NEXT;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -144,7 +166,7 @@ class ItemControllerTest {
     @Test
     void getAllItemsOwnersTest() {
         when(itemService.getAllItemsOwner(1L, 0, 20))
-                .thenReturn(List.of(itemOutDto));
+                .thenReturn(new SliceImpl<>(List.of(itemOutDto)));
 
         String result = mockMvc.perform(get("/items")
                         .header(X_SHARER_USER_ID, 1))
@@ -154,6 +176,82 @@ class ItemControllerTest {
                 .getContentAsString();
     }
 
+    @SneakyThrows
+    @Test
+    void getAllItemsOwnersPageTest() {
+        when(itemService.getAllItemsOwner(1L, 0, 1))
+                .thenReturn(new SliceImpl<>(List.of(itemOutDto), PageRequest.of(0, 1), false));
+
+        String result = mockMvc.perform(get("/items")
+                        .header(X_SHARER_USER_ID, 1)
+                        .param("from", "0")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_HAS_NEXT, "false"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(List.of(itemOutDto)), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void countItemsOwnerTest() {
+        when(itemService.countItemsOwner(1L))
+                .thenReturn(3L);
+
+        mockMvc.perform(get("/items/total")
+                        .header(X_SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3));
+    }
+
+    @SneakyThrows
+    @Test
+    void streamAllItemsOwnersTest() {
+        ItemStream<ItemOutDto> stream = action -> List.of(itemOutDto, itemOutDto).forEach(action);
+        when(itemService.streamAllItemsOwner(1L))
+                .thenReturn(stream);
+
+        MvcResult started = mockMvc.perform(get("/items")
+                        .header(X_SHARER_USER_ID, 1)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        String line = objectMapper.writeValueAsString(itemOutDto);
+        assertEquals(line + "\n" + line + "\n", result);
+    }
+
+    @SneakyThrows
+    @Test
+    void streamSearchTest() {
+        ItemStream<ItemDto> stream = action -> action.accept(itemDto);
+        when(itemService.streamSearch("text"))
+                .thenReturn(stream);
+
+        MvcResult started = mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(itemDto) + "\n", result);
+    }
+
     @SneakyThrows
     @Test
     void searchByTest() {
@@ -179,6 +277,180 @@ class ItemControllerTest {
                 .getContentAsString();
     }
 
+    @SneakyThrows
+    @Test
+    void searchByFirstOffsetPage_thenNextCursorIsReturned() {
+        ItemPageDto page = new ItemPageDto(List.of(itemDto), "MQ");
+        when(itemService.searchAfter("text", null, 1))
+                .thenReturn(page);
+
+        String result = mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_NEXT_CURSOR, "MQ"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(page.getItems()), result);
+        verify(itemService, never()).searchBy(any(), any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    void searchByLaterOffsetPage_thenOffsetSearchIsUsed() {
+        when(itemService.searchBy("text", 10, 10))
+                .thenReturn(List.of(itemDto));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", "10")
+                        .param("size", "10")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(X_NEXT_CURSOR))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()));
+    }
+
+    @SneakyThrows
+    @Test
+    void searchByCursorTest() {
+        ItemPageDto page = new ItemPageDto(List.of(itemDto), "Mg");
+        when(itemService.searchAfter("text", "MQ", 1))
+                .thenReturn(page);
+
+        String result = mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", "0")
+                        .param("size", "1")
+                        .param("cursor", "MQ")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_NEXT_CURSOR, "Mg"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(page.getItems()), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void searchByPeriodTest() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        when(itemService.searchAvailable("text", start, start.plusDays(1), 0, 10))
+                .thenReturn(List.of(itemDto));
+
+        String result = mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .param("start", "2030-01-10T12:00:00")
+                        .param("end", "2030-01-11T12:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(List.of(itemDto)), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void availabilityTest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 10, 12, 0);
+        List<IntervalDto> free = List.of(new IntervalDto(from, from.plusDays(1)));
+        when(itemService.availability(1L, from, from.plusDays(2)))
+                .thenReturn(free);
+
+        String result = mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-10T12:00:00")
+                        .param("to", "2030-01-12T12:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(free), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void bulkAvailabilityTest() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        ItemAvailabilityRequestDto request = new ItemAvailabilityRequestDto(List.of(1L, 2L), start, start.plusDays(1));
+        List<ItemAvailabilityDto> availability = List.of(
+                new ItemAvailabilityDto(1L, true, List.of(new IntervalDto(start, start.plusDays(1)))),
+                new ItemAvailabilityDto(2L, false, Collections.emptyList()));
+        when(itemService.availability(request))
+                .thenReturn(availability);
+
+        String result = mockMvc.perform(post("/items/availability")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(availability), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void searchByWithFacetsTest() {
+        ItemFacetsDto facets = new ItemFacetsDto(2, Map.of(true, 1L, false, 1L), Map.of(true, 0L, false, 2L), Map.of(1L, 2L));
+        when(itemService.searchAfter("text", null, 10))
+                .thenReturn(new ItemPageDto(List.of(itemDto), null));
+        when(itemService.facets("text", null, null, 5))
+                .thenReturn(facets);
+
+        String result = mockMvc.perform(get("/items/search")
+                        .param("text", "text")
+                        .param("from", "0")
+                        .param("size", "10")
+                        .param("facets", "true")
+                        .param("facetSize", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(new ItemSearchResultDto(List.of(itemDto), facets)), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void suggestTest() {
+        List<SuggestionDto> suggestions = List.of(new SuggestionDto("дрель", 3));
+        when(itemService.suggest("дре", 5))
+                .thenReturn(suggestions);
+
+        String result = mockMvc.perform(get("/items/search/suggest")
+                        .param("prefix", "дре")
+                        .param("size", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertEquals(objectMapper.writeValueAsString(suggestions), result);
+    }
+
     @SneakyThrows
     @Test
     void addCommentTest() {
@@ -4,18 +4,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -68,9 +75,11 @@ class ItemRepositoryTest {
 
         PageRequest pageable = PageRequest.of(0, 10);
 
-        Page<Item> itemsPage = itemRepository.findAllByOwner_IdOrderById(owner.getId(), pageable);
+        Slice<Item> itemsPage = itemRepository.findAllByOwner_IdOrderById(owner.getId(), pageable);
 
-        assertEquals(1, itemsPage.getTotalElements());
+        assertEquals(1, itemsPage.getNumberOfElements());
+        assertFalse(itemsPage.hasNext());
+        assertEquals(1, itemRepository.countByOwner_Id(owner.getId()));
     }
 
     @Test
@@ -91,9 +100,9 @@ class ItemRepositoryTest {
 
         PageRequest pageable = PageRequest.of(0, 10);
 
-        Page<Item> itemsPage = itemRepository.findByDescriptionContainingIgnoreCaseAndAvailableIsTrue("test", pageable);
+        Slice<Item> itemsPage = itemRepository.findByDescriptionContainingIgnoreCaseAndAvailableIsTrue("test", pageable);
 
-        assertEquals(1, itemsPage.getTotalElements());
+        assertEquals(1, itemsPage.getNumberOfElements());
     }
 
     @Test
@@ -122,4 +131,141 @@ class ItemRepositoryTest {
 
         assertEquals(1, items.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenFindAllAfter_thenItemsAfterIdAreFoundInIdOrder() {
+        User owner = new User();
+        owner.setName("Owner Name");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+        em.flush();
+
+        Item first = new Item();
+        first.setName("First");
+        first.setDescription("First Description");
+        first.setAvailable(true);
+        first.setOwner(owner);
+        em.persist(first);
+
+        Item unavailable = new Item();
+        unavailable.setName("Unavailable");
+        unavailable.setDescription("Unavailable Description");
+        unavailable.setAvailable(false);
+        unavailable.setOwner(owner);
+        em.persist(unavailable);
+
+        Item second = new Item();
+        second.setName("Second");
+        second.setDescription("Second Description");
+        second.setAvailable(true);
+        second.setOwner(owner);
+        em.persist(second);
+        em.flush();
+
+        List<ItemDto> items = itemRepository.findAllAfter(first.getId(), PageRequest.of(0, 10));
+
+        assertEquals(2, items.size());
+        assertEquals(unavailable.getId(), items.get(0).getId());
+        assertEquals(false, items.get(0).getAvailable());
+        assertEquals(second.getId(), items.get(1).getId());
+        assertEquals(owner.getId(), items.get(1).getOwnerId());
+    }
+
+    @Test
+    void whenFindAllChangedSince_thenChangedAndNewItemsAreFound() {
+        User owner = new User();
+        owner.setName("Owner Name");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+
+        Item old = item("Old", owner);
+        Item newer = item("Newer", owner);
+        Item changed = item("Changed", owner);
+        em.flush();
+        em.getEntityManager()
+                .createNativeQuery("update items set updated = :updated where id in (:ids)")
+                .setParameter("updated", LocalDateTime.now().minusDays(1))
+                .setParameter("ids", List.of(old.getId(), newer.getId()))
+                .executeUpdate();
+        em.clear();
+
+        List<ItemDto> items = itemRepository.findAllChangedSince(LocalDateTime.now().minusHours(1),
+                old.getId(), 0L, PageRequest.of(0, 10));
+
+        assertEquals(List.of(newer.getId(), changed.getId()),
+                List.of(items.get(0).getId(), items.get(1).getId()));
+        assertEquals(2, items.size());
+    }
+
+    @Test
+    void whenStreamAvailableByDescription_thenEscapedPatternMatchesLiterally() {
+        User owner = new User();
+        owner.setName("Owner Name");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+
+        Item discount = item("Скидка 50% на аренду", owner);
+        item("Скидка 500 на аренду", owner);
+        Item hidden = item("Скидка 50% закрыта", owner);
+        hidden.setAvailable(false);
+        em.flush();
+
+        List<Long> ids;
+        try (Stream<ItemDto> items = itemRepository.streamAvailableByDescription("50!%")) {
+            ids = items.map(ItemDto::getId).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(discount.getId()), ids);
+    }
+
+    @Test
+    void whenFindAvailableBetween_thenItemsWithOverlappingBookingsAreExcluded() {
+        User owner = new User();
+        owner.setName("Owner Name");
+        owner.setEmail("owner@example.com");
+        em.persist(owner);
+        User booker = new User();
+        booker.setName("Booker Name");
+        booker.setEmail("booker@example.com");
+        em.persist(booker);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        LocalDateTime end = start.plusDays(3);
+        Item free = item("Дрель свободная", owner);
+        Item approved = item("Дрель занятая", owner);
+        Item waiting = item("Дрель ожидающая", owner);
+        Item rejected = item("Дрель отклонённая", owner);
+        Item adjacent = item("Дрель соседняя", owner);
+        item("Палатка", owner);
+        booking(approved, booker, start.minusDays(1), start.plusDays(1), Status.APPROVED);
+        booking(waiting, booker, start.plusDays(1), start.plusDays(2), Status.WAITING);
+        booking(rejected, booker, start, end, Status.REJECTED);
+        booking(adjacent, booker, end, end.plusDays(1), Status.APPROVED);
+        em.flush();
+
+        List<Item> items = itemRepository.findAvailableBetween("дрель", start, end,
+                List.of(Status.APPROVED, Status.WAITING), PageRequest.of(0, 10));
+
+        assertEquals(List.of(free.getId(), rejected.getId(), adjacent.getId()),
+                items.stream().map(Item::getId).collect(Collectors.toList()));
+    }
+
+    private void booking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        em.persist(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+
+    private Item item(String name, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name + " Description");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return em.persist(item);
+    }
+}
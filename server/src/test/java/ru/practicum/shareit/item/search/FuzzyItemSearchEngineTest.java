@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.ids;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.item;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.model;
+
+@ExtendWith(MockitoExtension.class)
+class FuzzyItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchProperties properties;
+
+    private FuzzyItemSearchEngine engine;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemSearchProperties();
+        engine = new FuzzyItemSearchEngine(itemRepository, properties);
+        engine.put(item(1L, "Дрель ударная"));
+        engine.put(item(2L, "Туристическая палатка"));
+        engine.put(item(3L, "Палатка ударная"));
+    }
+
+    @Test
+    void whenWordMisspelled_thenItemIsFound() {
+        when(itemRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(model(2L), model(3L)));
+
+        List<Item> result = engine.search("плаатка", pageable);
+
+        assertEquals(List.of(2L, 3L), ids(result));
+    }
+
+    @Test
+    void whenSeveralMisspelledWords_thenPostingsAreIntersected() {
+        when(itemRepository.findAllById(List.of(3L))).thenReturn(List.of(model(3L)));
+
+        List<Item> result = engine.search("палтка удраная", pageable);
+
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    void whenDistanceExceedsLimit_thenNothingIsFound() {
+        properties.setFuzzyDistance(1);
+
+        assertTrue(engine.search("плаатка", pageable).isEmpty());
+        assertTrue(engine.search("дре", pageable).isEmpty());
+    }
+
+    @Test
+    void whenItemRemoved_thenItsTermsLeaveDictionary() {
+        engine.put(new ItemDto(1L, "name", "Дрель ударная", false, 1L, null));
+
+        assertTrue(engine.search("дрел", pageable).isEmpty());
+    }
+
+    @Test
+    void whenAutomatonSteps_thenAcceptsWordsWithinDistance() {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton("дрель", 1);
+        int[] state = automaton.start();
+        for (char c : "дрел".toCharArray()) {
+            state = automaton.step(state, c);
+        }
+
+        assertTrue(automaton.isMatch(state));
+        assertTrue(automaton.canMatch(automaton.step(state, 'ь')));
+        assertFalse(automaton.canMatch(automaton.step(automaton.step(automaton.start(), 'x'), 'y')));
+    }
+}
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.ids;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.item;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.model;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedIndexItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InvertedIndexItemSearchEngine engine;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        engine = new InvertedIndexItemSearchEngine(itemRepository, new ItemSearchProperties());
+    }
+
+    @Test
+    void whenItemsPut_thenAvailableItemsAreFoundByWord() {
+        engine.put(item(1L, "Дрель", "Аккумуляторная дрель", true));
+        engine.put(item(2L, "Отвертка", "Простая отвертка", true));
+        engine.put(item(3L, "Дрель", "Старая дрель", false));
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(model(1L, "Аккумуляторная дрель")));
+
+        List<Item> result = engine.search("ДРЕЛЬ", pageable);
+
+        assertEquals(List.of(1L), ids(result));
+    }
+
+    @Test
+    void whenRebuiltInBulk_thenChangesDuringBuildAreKept() {
+        engine.clear();
+        engine.put(item(2L, "Дрель", "Дрель ударная", true));
+        engine.put(item(1L, "Дрель", "Дрель простая", true));
+        engine.put(item(2L, "Дрель", "Отвертка", true));
+        engine.built();
+        engine.put(item(3L, "Дрель", "Дрель новая", true));
+        when(itemRepository.findAllById(List.of(1L, 3L)))
+                .thenReturn(List.of(model(1L, "Дрель простая"), model(3L, "Дрель новая")));
+
+        List<Item> result = engine.search("дрель", pageable);
+
+        assertEquals(List.of(1L, 3L), ids(result));
+    }
+
+    @Test
+    void whenSearchBySeveralWords_thenOnlyItemsWithAllWordsAreFound() {
+        engine.put(item(1L, "Дрель", "Дрель ударная", true));
+        engine.put(item(2L, "Дрель", "Дрель простая", true));
+        when(itemRepository.findAllById(List.of(2L))).thenReturn(List.of(model(2L, "Дрель простая")));
+
+        List<Item> result = engine.search("простая дрель", pageable);
+
+        assertEquals(List.of(2L), ids(result));
+    }
+
+    @Test
+    void whenSearchAfterCursor_thenNextItemsByIdAreReturned() {
+        engine.put(item(1L, "Дрель", "Дрель", true));
+        engine.put(item(2L, "Дрель", "Дрель", true));
+        engine.put(item(5L, "Дрель", "Дрель", true));
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(model(1L, "Дрель"), model(2L, "Дрель")));
+        when(itemRepository.findAllById(List.of(5L))).thenReturn(List.of(model(5L, "Дрель")));
+
+        ItemSearchSlice first = engine.searchAfter("дрель", null, 2);
+        ItemSearchSlice second = engine.searchAfter("дрель", first.getNext(), 2);
+
+        assertEquals(List.of(1L, 2L), ids(first.getItems()));
+        assertEquals(ItemSearchCursor.after(2L), first.getNext());
+        assertEquals(List.of(5L), ids(second.getItems()));
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void whenPagingWithCursor_thenQueryIsMatchedOncePerIndexVersion() {
+        InvertedIndexItemSearchEngine spied = spy(engine);
+        spied.put(item(1L, "Дрель", "Дрель ударная", true));
+        spied.put(item(2L, "Дрель", "Дрель простая", true));
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of());
+
+        ItemSearchSlice first = spied.searchAfter("дрель", null, 1);
+        spied.searchAfter("дрель", first.getNext(), 1);
+        verify(spied, times(1)).hits("дрель", Integer.MAX_VALUE);
+
+        spied.put(item(3L, "Дрель", "Дрель новая", true));
+        ItemSearchSlice changed = spied.searchAfter("дрель", first.getNext(), 1);
+
+        verify(spied, times(2)).hits("дрель", Integer.MAX_VALUE);
+        assertEquals(ItemSearchCursor.after(2L), changed.getNext());
+    }
+
+    @Test
+    void whenQueryInAnotherInflection_thenItemIsFound() {
+        engine.put(item(1L, "Дрель", "Набор свёрл для дрели", true));
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(model(1L, "Набор свёрл для дрели")));
+
+        List<Item> result = engine.search("сверла дрель", pageable);
+
+        assertEquals(List.of(1L), ids(result));
+    }
+
+    @Test
+    void whenItemBecomesUnavailable_thenItIsRemovedFromIndex() {
+        ItemDto available = item(1L, "Дрель", "Дрель", true);
+        engine.put(available);
+        engine.put(item(1L, "Дрель", "Дрель", false));
+
+        List<Item> result = engine.search("дрель", pageable);
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    void whenDescriptionChanged_thenOldWordsAreNotFound() {
+        ItemDto original = item(1L, "Дрель", "Старая дрель", true);
+        engine.put(original);
+        engine.put(item(1L, "Дрель", "Новая дрель", true));
+
+        assertTrue(engine.search("старая", pageable).isEmpty());
+    }
+
+    @Test
+    void whenSecondPageRequested_thenOnlyPageIdsAreHydrated() {
+        for (long id = 1; id <= 5; id++) {
+            engine.put(item(id, "Палатка", "Палатка " + id, true));
+        }
+        when(itemRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(
+                model(4L, "Палатка 4"), model(3L, "Палатка 3")));
+
+        List<Item> result = engine.search("палатка", PageRequest.of(1, 2));
+
+        assertEquals(List.of(3L, 4L), ids(result));
+    }
+}
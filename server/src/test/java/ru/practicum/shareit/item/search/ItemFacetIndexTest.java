@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetsDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemFacetIndexTest {
+
+    private ItemFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemFacetIndex(new RepositoryItemSearchEngine(null), null, new ItemSearchProperties());
+        index.put(new ItemDto(1L, "Дрель", "Ударная дрель", true, 10L, null));
+        index.put(new ItemDto(2L, "Дрель", "Старая дрель", false, 10L, 7L));
+        index.put(new ItemDto(3L, "Дрель", "Дрель с кейсом", true, 20L, null));
+        index.put(new ItemDto(4L, "Палатка", "Туристическая палатка", true, 30L, null));
+    }
+
+    @Test
+    void whenFacets_thenMatchesAreCounted() {
+        ItemFacetsDto facets = index.facets(new int[]{3, 1, 2}, 10);
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of(true, 2L, false, 1L), facets.getAvailable());
+        assertEquals(Map.of(true, 1L, false, 2L), facets.getRequest());
+        assertEquals(List.of(10L, 20L), List.copyOf(facets.getOwner().keySet()));
+        assertEquals(2L, facets.getOwner().get(10L));
+    }
+
+    @Test
+    void whenFacetsByText_thenUnavailableMatchesAreCountedWithoutDatabase() {
+        ItemFacetsDto facets = index.facets("дрел", 10);
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of(true, 2L, false, 1L), facets.getAvailable());
+        assertEquals(Map.of(10L, 2L, 20L, 1L), facets.getOwner());
+    }
+
+    @Test
+    void whenItemRemoved_thenTextNoLongerMatchesIt() {
+        index.remove(1L);
+        index.put(new ItemDto(3L, "Дрель", "Перфоратор", true, 20L, null));
+
+        assertEquals(1, index.facets("дрел", 10).getTotal());
+        assertEquals(0, index.facets("", 10).getTotal());
+    }
+
+    @Test
+    void whenOwnerLimitReached_thenMostFrequentOwnersAreKept() {
+        ItemFacetsDto facets = index.facets(new int[]{1, 2, 3}, 1);
+
+        assertEquals(Map.of(10L, 2L), facets.getOwner());
+    }
+
+    @Test
+    void whenItemChanged_thenOldStateIsNotCounted() {
+        index.put(new ItemDto(2L, "Дрель", "Сломанный перфоратор", true, 20L, null));
+
+        ItemFacetsDto facets = index.facets(new int[]{1, 2}, 10);
+
+        assertEquals(Map.of(true, 2L, false, 0L), facets.getAvailable());
+        assertEquals(Map.of(true, 0L, false, 2L), facets.getRequest());
+        assertEquals(Map.of(10L, 1L, 20L, 1L), facets.getOwner());
+    }
+
+    @Test
+    void whenItemRemoved_thenItIsNotCounted() {
+        index.remove(3L);
+
+        ItemFacetsDto facets = index.facets(new int[]{1, 3}, 10);
+
+        assertEquals(Map.of(true, 1L, false, 1L), facets.getAvailable());
+        assertEquals(Map.of(10L, 1L), facets.getOwner());
+    }
+
+    @Test
+    void whenNothingMatches_thenCountsAreZero() {
+        ItemFacetsDto facets = index.facets(new int[0], 10);
+
+        assertEquals(0, facets.getTotal());
+        assertEquals(Map.of(true, 0L, false, 0L), facets.getAvailable());
+        assertEquals(Map.of(), facets.getOwner());
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemIndexSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private ItemSearchProperties properties;
+
+    private ItemIndexSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemSearchProperties();
+        properties.getSnapshot().setPath(directory.resolve("index/items.snapshot").toString());
+        snapshot = new ItemIndexSnapshot(properties);
+    }
+
+    @Test
+    void whenWrittenAndLoaded_thenItemsAndHighWaterAreRestored() {
+        snapshot.clear();
+        snapshot.put(new ItemDto(1L, "Дрель", "Ударная дрель", true, 10L, null));
+        snapshot.put(new ItemDto(2L, "Палатка", "Туристическая", true, 11L, 5L));
+        snapshot.put(new ItemDto(3L, "Отвертка", "Сломана", false, 10L, null));
+        snapshot.built();
+        LocalDateTime before = LocalDateTime.now().minus(properties.getSnapshot().getReplayOverlap());
+
+        snapshot.write();
+        List<ItemDto> loaded = new ArrayList<>();
+        ItemIndexSnapshot.HighWater highWater = new ItemIndexSnapshot(properties).load(loaded::add);
+
+        assertEquals(3L, highWater.getItemId());
+        assertFalse(highWater.getUpdated().isBefore(before));
+        assertEquals(List.of(1L, 2L, 3L), loaded.stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertEquals("Ударная дрель", loaded.get(0).getDescription());
+        assertEquals(10L, loaded.get(0).getOwnerId());
+        assertNull(loaded.get(0).getRequestId());
+        assertEquals(5L, loaded.get(1).getRequestId());
+        assertTrue(loaded.get(1).getAvailable());
+        assertFalse(loaded.get(2).getAvailable());
+    }
+
+    @Test
+    void whenIndexNotBuilt_thenSnapshotIsNotWritten() {
+        snapshot.clear();
+
+        snapshot.write();
+
+        assertFalse(Files.exists(directory.resolve("index/items.snapshot")));
+    }
+
+    @Test
+    void whenPathIsBlank_thenItemsAreNotKept() {
+        String path = properties.getSnapshot().getPath();
+        properties.getSnapshot().setPath("");
+        snapshot.put(new ItemDto(1L, "Дрель", "Ударная дрель", true, 10L, null));
+        properties.getSnapshot().setPath(path);
+        snapshot.built();
+
+        snapshot.write();
+        List<ItemDto> loaded = new ArrayList<>();
+        new ItemIndexSnapshot(properties).load(loaded::add);
+
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    void whenSnapshotCorrupted_thenNothingIsLoaded() throws IOException {
+        Path path = directory.resolve("index/items.snapshot");
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[]{1, 2, 3});
+
+        assertNull(snapshot.load(item -> {
+        }));
+    }
+}
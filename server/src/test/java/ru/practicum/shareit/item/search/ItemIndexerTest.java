@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemIndexerTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemIndex index;
+
+    @Mock
+    private ItemIndexSnapshot snapshot;
+
+    private ItemIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        properties.setIndexBatchSize(2);
+        indexer = new ItemIndexer(itemRepository, properties, List.of(index), snapshot);
+    }
+
+    @Test
+    void whenRebuild_thenAllItemsAreLoadedInKeysetBatches() {
+        ItemDto first = item(1L);
+        ItemDto second = item(2L);
+        ItemDto third = item(5L);
+        when(itemRepository.findAllAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+        when(itemRepository.findAllAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(third));
+
+        indexer.rebuild();
+
+        InOrder order = inOrder(index);
+        order.verify(index).clear();
+        order.verify(index).put(first);
+        order.verify(index).put(second);
+        order.verify(index).put(third);
+        order.verify(index).built();
+    }
+
+    @Test
+    void whenSnapshotLoaded_thenOnlyItemsChangedAfterItAreReadFromDb() {
+        ItemDto fromSnapshot = item(1L);
+        ItemDto changed = item(7L);
+        LocalDateTime updated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(snapshot.load(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<ItemDto>>getArgument(0).accept(fromSnapshot);
+            return new ItemIndexSnapshot.HighWater(5L, updated);
+        });
+        when(itemRepository.findAllChangedSince(updated, 5L, 0L, PageRequest.of(0, 2))).thenReturn(List.of(changed));
+        when(itemRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+
+        indexer.rebuild();
+
+        InOrder order = inOrder(index);
+        order.verify(index).clear();
+        order.verify(index).put(fromSnapshot);
+        order.verify(index).put(changed);
+        order.verify(index).built();
+        verify(index, never()).remove(any());
+        verify(itemRepository, never()).findAllAfter(any(), any());
+    }
+
+    @Test
+    void whenSnapshotItemDeletedFromDb_thenItIsRemovedBeforeBuilt() {
+        LocalDateTime updated = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(snapshot.load(any())).thenAnswer(invocation -> {
+            Consumer<ItemDto> consumer = invocation.getArgument(0);
+            consumer.accept(item(1L));
+            consumer.accept(item(2L));
+            consumer.accept(item(3L));
+            return new ItemIndexSnapshot.HighWater(3L, updated);
+        });
+        when(itemRepository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+        when(itemRepository.findExistingIds(List.of(3L))).thenReturn(List.of(3L));
+
+        indexer.rebuild();
+
+        InOrder order = inOrder(index);
+        order.verify(index).remove(2L);
+        order.verify(index).built();
+        verify(index, never()).remove(1L);
+        verify(index, never()).remove(3L);
+    }
+
+    @Test
+    void whenItemChanged_thenCurrentStateIsPutToIndexes() {
+        ItemDto current = item(1L);
+
+        indexer.onItemChanged(new ItemChangedEvent(null, current));
+
+        verify(index).put(current);
+    }
+
+    @Test
+    void whenItemDeleted_thenItIsRemovedFromIndexes() {
+        indexer.onItemChanged(new ItemChangedEvent(item(1L), null));
+
+        verify(index).remove(1L);
+        verify(index, never()).put(any());
+    }
+
+    private static ItemDto item(Long id) {
+        return new ItemDto(id, "name", "description", true, 1L, null);
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTest {
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ItemDto drill = new ItemDto(1L, "Дрель", "Ударная дрель", true, 1L, null);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(new ItemSearchProperties(), meterRegistry);
+        load("Дрель");
+    }
+
+    @Test
+    void whenSameNormalizedQuery_thenLoadedOnce() {
+        load("ДРЕЛЬ");
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "items.search").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void whenAnotherPageWindow_thenLoadedSeparately() {
+        cache.get("дрель", PageRequest.of(1, 10), this::loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenFirstCursorPage_thenCachedWithItsCursorApartFromOffsetPage() {
+        ItemPageDto page = new ItemPageDto(List.of(drill), "MQ");
+        cache.getFirstPage("дрель", 10, () -> {
+            loads.incrementAndGet();
+            return page;
+        });
+
+        ItemPageDto cached = cache.getFirstPage("Дрель", 10, () -> {
+            throw new AssertionError("страница должна быть в кэше");
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(page, cached);
+    }
+
+    @Test
+    void whenMatchingItemChanged_thenQueryIsReloaded() {
+        cache.onItemChanged(new ItemChangedEvent(drill, drill.toBuilder().available(false).build()));
+        load("дрель");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenItemStartsMatching_thenQueryIsReloaded() {
+        ItemDto saw = new ItemDto(2L, "Пила", "Пила", true, 1L, null);
+        cache.onItemChanged(new ItemChangedEvent(saw, saw.toBuilder().description("Пила и дрель").build()));
+        load("дрель");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenItemDeleted_thenQueryIsReloaded() {
+        cache.onItemChanged(new ItemChangedEvent(drill, null));
+        load("дрель");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void whenChangeCannotAffectResults_thenCachedPageIsKept() {
+        ItemDto tent = new ItemDto(3L, "Палатка", "Палатка", false, 1L, null);
+        cache.onItemChanged(new ItemChangedEvent(null, tent));
+        cache.onItemChanged(new ItemChangedEvent(tent, tent.toBuilder().description("Палатка и дрель").build()));
+        cache.onItemChanged(new ItemChangedEvent(drill, drill.toBuilder().ownerId(2L).build()));
+        load("дрель");
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void whenAnotherQueryAffected_thenThisQueryStaysCached() {
+        cache.get("пила", pageable, this::loader);
+        ItemDto saw = new ItemDto(2L, "Пила", "Пила", true, 1L, null);
+        cache.onItemChanged(new ItemChangedEvent(saw, saw.toBuilder().description("Пила ручная").build()));
+        load("дрель");
+        cache.get("пила", pageable, this::loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void whenQueryIsPartOfChangedWord_thenQueryIsReloaded() {
+        cache.get("рел", pageable, this::loader);
+        cache.onItemChanged(new ItemChangedEvent(drill, drill.toBuilder().description("Дрель новая").build()));
+        cache.get("рел", pageable, this::loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void whenFuzzyEngineAndQueryWithTypo_thenQueryIsReloaded() {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        properties.setEngine("fuzzy");
+        ItemSearchCache fuzzy = new ItemSearchCache(properties, meterRegistry);
+        fuzzy.get("крель", pageable, this::loader);
+        cache.get("крель", pageable, this::loader);
+        ItemChangedEvent event = new ItemChangedEvent(drill, drill.toBuilder().available(false).build());
+
+        fuzzy.onItemChanged(event);
+        cache.onItemChanged(event);
+        fuzzy.get("крель", pageable, this::loader);
+        cache.get("крель", pageable, this::loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void whenDisabled_thenAlwaysLoaded() {
+        ItemSearchProperties properties = new ItemSearchProperties();
+        properties.getCache().setEnabled(false);
+        ItemSearchCache disabled = new ItemSearchCache(properties, meterRegistry);
+
+        disabled.get("дрель", pageable, this::loader);
+        disabled.get("дрель", pageable, this::loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    private void load(String text) {
+        cache.get(text, pageable, this::loader);
+    }
+
+    private List<ItemDto> loader() {
+        loads.incrementAndGet();
+        return List.of(drill);
+    }
+}
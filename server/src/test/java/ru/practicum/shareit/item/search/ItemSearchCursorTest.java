@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemSearchCursorTest {
+
+    @Test
+    void whenEncodedAndDecoded_thenCursorIsRestored() {
+        ItemSearchCursor byId = ItemSearchCursor.after(42L);
+        ItemSearchCursor byScore = ItemSearchCursor.after(1.0 / 3, 7L);
+
+        assertEquals(byId, ItemSearchCursor.decode(byId.encode()));
+        assertEquals(byScore, ItemSearchCursor.decode(byScore.encode()));
+    }
+
+    @Test
+    void whenCursorBlank_thenDecodedAsFirstPage() {
+        assertNull(ItemSearchCursor.decode(""));
+    }
+
+    @Test
+    void whenCursorMalformed_thenBadRequest() {
+        assertThrows(BadRequestException.class, () -> ItemSearchCursor.decode("не-курсор"));
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Общие заготовки для тестов движков поиска: доступные вещи владельца 1 и их id в выдаче.
+ */
+final class ItemSearchFixtures {
+
+    private ItemSearchFixtures() {
+    }
+
+    static ItemDto item(Long id, String description) {
+        return item(id, "name", description);
+    }
+
+    static ItemDto item(Long id, String name, String description) {
+        return item(id, name, description, true);
+    }
+
+    static ItemDto item(Long id, String name, String description, boolean available) {
+        return new ItemDto(id, name, description, available, 1L, null);
+    }
+
+    static Item model(Long id) {
+        return model(id, "description");
+    }
+
+    static Item model(Long id, String description) {
+        return Item.builder()
+                .id(id)
+                .name("name")
+                .description(description)
+                .available(true)
+                .build();
+    }
+
+    static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
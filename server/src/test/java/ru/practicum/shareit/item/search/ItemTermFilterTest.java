@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTermFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ItemTermFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ItemTermFilter(new ItemSearchProperties(), meterRegistry);
+        filter.clear();
+        filter.put(new ItemDto(1L, "Дрель", "Аккумуляторная дрель", true, 1L, null));
+        filter.put(new ItemDto(2L, "Палатка", "Туристическая палатка", false, 1L, null));
+        filter.built();
+    }
+
+    @Test
+    void whenWordsOccurInDescriptions_thenQueryMightMatch() {
+        assertTrue(filter.mightMatch("ДРЕЛ"));
+        assertTrue(filter.mightMatch("дрель аккумуляторная"));
+        assertTrue(filter.mightMatch("др"));
+    }
+
+    @Test
+    void whenStemmed_thenInflectedQueryMightMatch() {
+        assertTrue(filter.mightMatch("дрелью", true));
+        assertTrue(filter.mightMatch("Аккумуляторной дрели", true));
+        assertFalse(filter.mightMatch("велосипедом", true));
+    }
+
+    @Test
+    void whenWordOccursNowhere_thenQueryIsRejectedAndCounted() {
+        assertFalse(filter.mightMatch("дрель велосипед"));
+        assertFalse(filter.mightMatch("палатка"));
+
+        assertEquals(2.0, meterRegistry.get("items.search.bloom.queries").tag("result", "rejected").counter().count());
+        assertTrue(meterRegistry.get("items.search.bloom.fpp").gauge().value() > 0.0);
+    }
+
+    @Test
+    void whenIndexIsBeingBuilt_thenNothingIsRejected() {
+        filter.clear();
+
+        assertTrue(filter.mightMatch("велосипед"));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemTermSuggesterTest {
+
+    private ItemTermSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ItemTermSuggester();
+        suggester.put(item(1L, "Дрель", "Дрель ударная", true));
+        suggester.put(item(2L, "Дрель", "Аккумуляторная дрель", true));
+        suggester.put(item(3L, "Дрезина", "Ручная дрезина", true));
+        suggester.put(item(4L, "Древко", "Для флага", true));
+    }
+
+    @Test
+    void whenSuggest_thenMostFrequentCompletionsFirst() {
+        List<CompletionTrie.Completion> result = suggester.suggest("ДРЕ", 2);
+
+        assertEquals(List.of("дрель", "древко"), terms(result));
+        assertEquals(2, result.get(0).getCount());
+    }
+
+    @Test
+    void whenItemBecomesUnavailable_thenItsTermsAreNotSuggested() {
+        suggester.put(item(4L, "Древко", "Для флага", false));
+
+        assertEquals(List.of("дрель", "дрезина"), terms(suggester.suggest("дре", 10)));
+        assertTrue(suggester.suggest("фла", 10).isEmpty());
+    }
+
+    @Test
+    void whenItemDescriptionChanged_thenFrequenciesAreUpdated() {
+        suggester.put(item(1L, "Дрель", "Ударная", true));
+        suggester.put(item(2L, "Лобзик", "Аккумуляторный", true));
+
+        List<CompletionTrie.Completion> result = suggester.suggest("дрел", 10);
+
+        assertEquals(List.of("дрель"), terms(result));
+        assertEquals(1, result.get(0).getCount());
+    }
+
+    @Test
+    void whenTrieCompletes_thenTiesAreOrderedAlphabetically() {
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("ab", 1);
+        trie.add("abc", 1);
+        trie.add("abd", 3);
+        trie.add("abd", -3);
+
+        assertEquals(List.of("ab", "abc"), trie.complete("a", 5).stream()
+                .map(CompletionTrie.Completion::getTerm)
+                .collect(Collectors.toList()));
+        assertEquals(2, trie.size());
+        assertEquals(0, trie.count("abd"));
+    }
+
+    private static ItemDto item(Long id, String name, String description, boolean available) {
+        return new ItemDto(id, name, description, available, 1L, null);
+    }
+
+    private static List<String> terms(List<CompletionTrie.Completion> completions) {
+        return completions.stream()
+                .map(CompletionTrie.Completion::getTerm)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Размер индекса и задержка запросов без стемминга и со стеммингом на синтетическом корпусе описаний
+ * со словами во всех падежах. Без стемминга, чтобы найти все формы слова, запрос раскрывается
+ * в объединение списков по каждой форме. Запуск: {@code mvn test -P benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ItemTokenizerBenchmarkTest {
+    private static final int DOCUMENTS = 50_000;
+    private static final int WORDS_PER_DOCUMENT = 10;
+    private static final int QUERIES = 5_000;
+    private static final String[] NOUNS = {"дрел", "палатк", "лопат", "пил", "отвертк", "лестниц", "тележк",
+            "горелк", "удочк", "лодк", "перфоратор", "рюкзак", "спальник", "котел", "молоток", "велосипед"};
+    private static final String[] NOUN_ENDINGS = {"а", "ы", "е", "у", "ой", "ою", "", "ам", "ами", "ах", "и", "ь", "ью", "ям", "ями", "ях", "ом", "ов"};
+    private static final String[] ADJECTIVES = {"ударн", "туристическ", "садов", "складн", "электрическ", "нов", "стар", "легк"};
+    private static final String[] ADJECTIVE_ENDINGS = {"ая", "ой", "ую", "ые", "ых", "ым", "ыми", "ий", "ого", "ому", "ое", "ие", "их", "ими"};
+    private static final String[] STOP_WORDS = {"и", "в", "для", "на", "с", "по", "без"};
+
+    @Test
+    void compareIndexSizeAndQueryLatency() {
+        Random random = new Random(42);
+        List<String> corpus = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            corpus.add(document(random));
+        }
+        List<String> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(word(random, ADJECTIVES, ADJECTIVE_ENDINGS) + " " + word(random, NOUNS, NOUN_ENDINGS));
+        }
+
+        Result raw = run("без стемминга", corpus, queries, ItemTokenizer::words, true);
+        Result stemmed = run("со стеммингом", corpus, queries, ItemTokenizer::tokenize, false);
+
+        assertArrayEquals(raw.checksum, stemmed.checksum);
+        assertTrue(stemmed.terms < raw.terms);
+        assertTrue(stemmed.postings < raw.postings);
+        assertTrue(stemmed.listsPerQuery < raw.listsPerQuery);
+    }
+
+    private Result run(String name, List<String> corpus, List<String> queries,
+                       Function<String, Set<String>> analyzer, boolean expandForms) {
+        long started = System.nanoTime();
+        InvertedIndex index = new InvertedIndex();
+        Set<String> vocabulary = new LinkedHashSet<>();
+        index.clear();
+        for (int id = 0; id < corpus.size(); id++) {
+            Set<String> terms = analyzer.apply(corpus.get(id));
+            index.put(id, terms);
+            vocabulary.addAll(terms);
+        }
+        index.built();
+        long indexMillis = (System.nanoTime() - started) / 1_000_000;
+        long postings = vocabulary.stream().mapToLong(term -> index.get(term).size()).sum();
+        Map<String, List<String>> forms = vocabulary.stream()
+                .collect(Collectors.groupingBy(RussianLightStemmer::stem));
+
+        long[] checksum = new long[queries.size()];
+        long lists = 0;
+        for (int round = 0; round < 2; round++) {
+            lists = 0;
+            started = System.nanoTime();
+            for (int q = 0; q < queries.size(); q++) {
+                List<PostingList> perWord = new ArrayList<>();
+                for (String word : ItemTokenizer.tokenize(queries.get(q))) {
+                    List<String> terms = expandForms ? forms.getOrDefault(word, List.of()) : List.of(word);
+                    List<PostingList> expansions = terms.stream().map(index::get).collect(Collectors.toList());
+                    lists += expansions.size();
+                    perWord.add(expansions.size() == 1 ? expansions.get(0) : PostingList.union(expansions));
+                }
+                checksum[q] = Arrays.stream(PostingList.intersect(perWord)).asLongStream().sum();
+            }
+        }
+        double micros = (System.nanoTime() - started) / 1_000.0 / queries.size();
+        Result result = new Result(index.termCount(), postings, (double) lists / queries.size(), checksum);
+        log.info("{}: термов {}, записей в списках {}, построение {} мс, списков на запрос {}, запрос {} мкс",
+                name, result.terms, result.postings, indexMillis, String.format("%.1f", result.listsPerQuery),
+                String.format("%.1f", micros));
+        return result;
+    }
+
+    private static String document(Random random) {
+        StringBuilder document = new StringBuilder();
+        for (int i = 0; i < WORDS_PER_DOCUMENT; i++) {
+            int kind = random.nextInt(4);
+            String word = kind == 0 ? STOP_WORDS[random.nextInt(STOP_WORDS.length)]
+                    : kind == 1 ? word(random, ADJECTIVES, ADJECTIVE_ENDINGS)
+                    : word(random, NOUNS, NOUN_ENDINGS);
+            document.append(word).append(' ');
+        }
+        return document.toString();
+    }
+
+    private static String word(Random random, String[] stems, String[] endings) {
+        return stems[random.nextInt(stems.length)] + endings[random.nextInt(endings.length)];
+    }
+
+    private static final class Result {
+        private final int terms;
+        private final long postings;
+        private final double listsPerQuery;
+        private final long[] checksum;
+
+        private Result(int terms, long postings, double listsPerQuery, long[] checksum) {
+            this.terms = terms;
+            this.postings = postings;
+            this.listsPerQuery = listsPerQuery;
+            this.checksum = checksum;
+        }
+    }
+}
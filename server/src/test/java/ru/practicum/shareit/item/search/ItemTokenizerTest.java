@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemTokenizerTest {
+
+    @Test
+    void whenInflectedForms_thenSameStem() {
+        assertEquals(Set.of("дрел"), ItemTokenizer.tokenize("дрель, дрели, дрелью и дрелями"));
+        assertEquals(Set.of("ударн"), ItemTokenizer.tokenize("Ударная ударной ударную ударные"));
+    }
+
+    @Test
+    void whenYoSpelling_thenFoldedToYe() {
+        assertEquals(ItemTokenizer.tokens("ёлочная гирлянда"), ItemTokenizer.tokens("елочная гирлянда"));
+    }
+
+    @Test
+    void whenStopWords_thenDropped() {
+        assertEquals(List.of("палатк", "рюкзак", "поход"), ItemTokenizer.tokens("Палатка и рюкзак для похода"));
+        assertEquals(List.of(), ItemTokenizer.tokens("и в на"));
+    }
+
+    @Test
+    void whenLatinOrDigits_thenKeptAsIs() {
+        assertEquals(List.of("bosch", "gsb", "18v"), ItemTokenizer.tokens("Bosch GSB-18V"));
+    }
+
+    @Test
+    void whenWords_thenOnlyLowercasedAndSplit() {
+        assertEquals(Set.of("ёлка", "и", "дрели"), ItemTokenizer.words("Ёлка и дрели"));
+    }
+}
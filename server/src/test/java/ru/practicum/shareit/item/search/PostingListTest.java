@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void whenCreatedFromUnsortedIds_thenIdsAreSortedAndUnique() {
+        PostingList list = PostingList.of(7, 3, 300000, 3, 1);
+
+        assertArrayEquals(new int[]{1, 3, 7, 300000}, list.toArray());
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    void whenAppendAndInsertAcrossBlocks_thenAllIdsArePreserved() {
+        PostingList list = PostingList.EMPTY;
+        for (int id = 2; id <= 1000; id += 2) {
+            list = list.with(id);
+        }
+        list = list.with(501).with(1).with(501);
+
+        int[] expected = IntStream.concat(IntStream.of(1, 501), IntStream.rangeClosed(1, 500).map(i -> i * 2))
+                .sorted()
+                .toArray();
+        assertArrayEquals(expected, list.toArray());
+        assertTrue(list.contains(501));
+        assertFalse(list.contains(503));
+    }
+
+    @Test
+    void whenRemoveId_thenItIsNotContained() {
+        PostingList list = PostingList.of(1, 2, 3);
+
+        assertArrayEquals(new int[]{1, 3}, list.without(2).toArray());
+        assertSame(list, list.without(4));
+        assertTrue(PostingList.of(5).without(5).isEmpty());
+    }
+
+    @Test
+    void whenAdvanceCursor_thenSkipsToFirstIdNotLessThanTarget() {
+        PostingList list = PostingList.of(IntStream.rangeClosed(1, 1000).map(i -> i * 3).toArray());
+        PostingList.Cursor cursor = list.cursor();
+
+        assertEquals(3, cursor.advance(2));
+        assertEquals(600, cursor.advance(599));
+        assertEquals(2400, cursor.advance(2400));
+        assertEquals(2400, cursor.advance(10));
+        assertEquals(PostingList.NO_MORE, cursor.advance(3001));
+    }
+
+    @Test
+    void whenIntersectSeveralLists_thenOnlyCommonIdsRemain() {
+        PostingList even = PostingList.of(IntStream.rangeClosed(1, 5000).map(i -> i * 2).toArray());
+        PostingList byThree = PostingList.of(IntStream.rangeClosed(1, 3000).map(i -> i * 3).toArray());
+        PostingList rare = PostingList.of(6, 7, 600, 4242, 9000);
+
+        assertArrayEquals(new int[]{6, 600, 4242, 9000}, PostingList.intersect(List.of(even, byThree, rare)));
+        assertEquals(0, PostingList.intersect(List.of(even, PostingList.EMPTY)).length);
+    }
+
+    @Test
+    void whenBuiltFromBuilder_thenIdsAreSortedAndUniqueAcrossBlocks() {
+        PostingList.Builder sorted = new PostingList.Builder();
+        IntStream.rangeClosed(1, 1000).forEach(sorted::add);
+        sorted.remove(500);
+        PostingList.Builder shuffled = new PostingList.Builder();
+        IntStream.of(9, 3, 9, 1, 300000).forEach(shuffled::add);
+
+        PostingList list = sorted.build();
+
+        assertEquals(999, list.size());
+        assertFalse(list.contains(500));
+        assertEquals(1000, list.cursor().advance(1000));
+        assertArrayEquals(new int[]{1, 3, 9, 300000}, shuffled.build().toArray());
+        assertTrue(new PostingList.Builder().build().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.ids;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.item;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.model;
+
+@ExtendWith(MockitoExtension.class)
+class RankedItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private RankedItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RankedItemSearchEngine(itemRepository, new ItemSearchProperties());
+        engine.put(item(1L, "Отвертка", "Подходит к любой дрель"));
+        engine.put(item(2L, "Дрель", "Мощная и надежная"));
+        engine.put(item(3L, "Дрель", "Ударная дрель"));
+        engine.put(item(4L, "Палатка", "Туристическая"));
+    }
+
+    @Test
+    void whenTermInNameAndDescription_thenItemRanksFirst() {
+        when(itemRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(model(1L), model(2L), model(3L)));
+
+        List<Item> result = engine.search("дрель", PageRequest.of(0, 10));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(result));
+    }
+
+    @Test
+    void whenSecondPageRequested_thenNextItemsInScoreOrderAreReturned() {
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(model(1L)));
+
+        List<Item> result = engine.search("дрель", PageRequest.of(1, 2));
+
+        assertEquals(List.of(1L), ids(result));
+    }
+
+    @Test
+    void whenSearchAfterCursor_thenContinuesInScoreOrder() {
+        when(itemRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(model(2L), model(3L)));
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(model(1L)));
+
+        ItemSearchSlice first = engine.searchAfter("дрель", null, 2);
+        ItemSearchSlice second = engine.searchAfter("дрель", ItemSearchCursor.decode(first.getNext().encode()), 2);
+
+        assertEquals(List.of(3L, 2L), ids(first.getItems()));
+        assertEquals(2L, first.getNext().getId());
+        assertEquals(List.of(1L), ids(second.getItems()));
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void whenNoTermMatches_thenEmptyResult() {
+        assertTrue(engine.search("велосипед", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void whenTop_thenBestScoresAreKeptInDescendingOrder() {
+        Map<Integer, Double> scores = Map.of(1, 0.5, 2, 3.0, 3, 1.0, 4, 3.0, 5, 0.1);
+
+        assertArrayEquals(new int[]{2, 4, 3}, RankedItemSearchEngine.top(scores, 3));
+    }
+}
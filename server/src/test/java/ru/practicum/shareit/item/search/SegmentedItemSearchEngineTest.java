@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.ids;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.item;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.model;
+
+@ExtendWith(MockitoExtension.class)
+class SegmentedItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ItemSearchProperties properties = new ItemSearchProperties();
+
+    private SegmentedItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties.getSegments().setCount(3);
+        properties.getSegments().setPoolSize(2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void whenItemsSpreadOverSegments_thenPageIsMergedInIdOrder() {
+        engine = new SegmentedItemSearchEngine(itemRepository, properties,
+                () -> new InvertedIndexItemSearchEngine(itemRepository, properties), meterRegistry);
+        for (long id = 1; id <= 7; id++) {
+            engine.put(item(id, "Дрель", "Дрель номер " + id));
+        }
+        when(itemRepository.findAllById(List.of(4L, 5L, 6L))).thenReturn(List.of(model(4L), model(5L), model(6L)));
+
+        List<Item> result = engine.search("дрель", PageRequest.of(1, 3));
+
+        assertEquals(List.of(4L, 5L, 6L), ids(result));
+        assertEquals(3, meterRegistry.get("items.search.segment").timers().size());
+        assertEquals(1, meterRegistry.get("items.search.segment").tag("segment", "0").timer().count());
+    }
+
+    @Test
+    void whenRankedSegments_thenCursorContinuesMergedScoreOrder() {
+        engine = new SegmentedItemSearchEngine(itemRepository, properties,
+                () -> new RankedItemSearchEngine(itemRepository, properties), meterRegistry);
+        engine.put(item(1L, "Дрель", "Ударная дрель"));
+        engine.put(item(2L, "Дрель", "Ударная дрель"));
+        engine.put(item(3L, "Дрель", "Ударная дрель"));
+        engine.put(item(4L, "Отвертка", "Крестовая"));
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(model(1L), model(2L)));
+        when(itemRepository.findAllById(List.of(3L))).thenReturn(List.of(model(3L)));
+
+        ItemSearchSlice first = engine.searchAfter("дрель", null, 2);
+        ItemSearchSlice second = engine.searchAfter("дрель", first.getNext(), 2);
+
+        assertEquals(List.of(1L, 2L), ids(first.getItems()));
+        assertEquals(List.of(3L), ids(second.getItems()));
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void whenMerge_thenBestScoresComeFirstAndTiesByAscendingId() {
+        ItemSearchHits left = new ItemSearchHits(new int[]{3, 6, 9}, new double[]{2.0, 1.0, 0.5});
+        ItemSearchHits right = new ItemSearchHits(new int[]{1, 4}, new double[]{1.0, 0.7});
+
+        ItemSearchHits merged = SegmentedItemSearchEngine.merge(List.of(left, right), 4);
+
+        assertArrayEquals(new int[]{3, 1, 6, 4}, merged.getIds());
+        assertArrayEquals(new double[]{2.0, 1.0, 1.0, 0.7}, merged.getScores());
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TermBloomFilterTest {
+
+    @Test
+    void whenTermsPut_thenAllOfThemMightBeContained() {
+        TermBloomFilter filter = new TermBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("term" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("term" + i));
+        }
+    }
+
+    @Test
+    void whenFilledToExpectedSize_thenFalsePositiveRateStaysNearTarget() {
+        TermBloomFilter filter = new TermBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("term" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "ложноположительных: " + falsePositives);
+        assertTrue(filter.expectedFpp() < 0.03);
+    }
+
+    @Test
+    void whenCleared_thenNothingIsContained() {
+        TermBloomFilter filter = new TermBloomFilter(100, 0.01);
+        filter.put("дре");
+        filter.clear();
+
+        assertFalse(filter.mightContain("дре"));
+        assertEquals(0.0, filter.expectedFpp());
+    }
+}
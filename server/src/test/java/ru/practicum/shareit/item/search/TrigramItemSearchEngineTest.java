@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.ids;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.item;
+import static ru.practicum.shareit.item.search.ItemSearchFixtures.model;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private TrigramItemSearchEngine engine;
+
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        engine = new TrigramItemSearchEngine(itemRepository, new ItemSearchProperties());
+        engine.put(item(1L, "Аккумуляторная Дрель"));
+        engine.put(item(2L, "Отвертка для дрели"));
+        engine.put(item(3L, "Палатка"));
+    }
+
+    @Test
+    void whenSearchByWordPrefix_thenSubstringMatchesAreFound() {
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(model(1L), model(2L)));
+
+        List<Item> result = engine.search("ДРЕЛ", pageable);
+
+        assertEquals(List.of(1L, 2L), ids(result));
+    }
+
+    @Test
+    void whenTrigramsMatchButSubstringDoesNot_thenItemIsNotFound() {
+        assertTrue(engine.search("дрель отв", pageable).isEmpty());
+    }
+
+    @Test
+    void whenSearchShorterThanTrigram_thenItemsAreScanned() {
+        when(itemRepository.findAllById(anyList())).thenReturn(List.of(model(3L)));
+
+        List<Item> result = engine.search("ат", pageable);
+
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    void whenTrigrams_thenAllSubstringsOfLengthThree() {
+        assertEquals(Set.of("дре", "рел", "ель"), TrigramItemSearchEngine.trigrams("дрель"));
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Фильтр Блума не должен отсекать запрос в другой словоформе, если движок сравнивает основы слов.
+ */
+@SpringBootTest(properties = {"shareit.search.engine=inverted", "shareit.search.bloom.enabled=true"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ItemServiceStemmedSearchTest {
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void whenQueryIsInflected_thenStemmingEngineStillFindsItem() {
+        User owner = userRepository.save(User.builder().name("owner").email("stem-owner@example.com").build());
+        itemService.saveItem(ItemDto.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build(), owner.getId());
+
+        List<ItemDto> inflected = itemService.searchBy("дрелью", 0, 10);
+        List<ItemDto> plural = itemService.searchBy("дрели", 0, 10);
+
+        assertEquals(1, inflected.size());
+        assertEquals(1, plural.size());
+        assertTrue(itemService.searchBy("велосипед", 0, 10).isEmpty());
+    }
+}
@@ -6,31 +6,62 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.IntervalDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFacetsDto;
 import ru.practicum.shareit.item.dto.ItemOutDto;
+import ru.practicum.shareit.item.dto.ItemPageDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.CompletionTrie;
+import ru.practicum.shareit.item.search.ItemFacetIndex;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchCursor;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchSlice;
+import ru.practicum.shareit.item.search.ItemTermFilter;
+import ru.practicum.shareit.item.search.ItemTermSuggester;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -66,6 +97,35 @@ public class ItemServiceTest {
     @Mock
     private ItemMapper itemMapper;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
+    @Mock
+    private ItemSearchCache itemSearchCache;
+
+    @Mock
+    private ItemTermSuggester itemTermSuggester;
+
+    @Mock
+    private ItemTermFilter itemTermFilter;
+
+    @Mock
+    private ItemFacetIndex itemFacetIndex;
+
+    @Mock
+    private BookingSchedule bookingSchedule;
+    @Mock
+    private ItemBookingSummaries itemBookingSummaries;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
     @Test
     void whenSaveItem_thenReturnsItemOutDto() {
         Long userId = 1L;
@@ -113,8 +173,9 @@ public class ItemServiceTest {
         Pageable pageable = PageRequest.of(from / size, size);
         List<Item> items = List.of(new Item());
 
-        when(itemRepository.findByDescriptionContainingIgnoreCaseAndAvailableIsTrue(text.toLowerCase(), pageable))
-                .thenReturn(new PageImpl<>(items));
+        when(itemSearchEngine.search(text, pageable)).thenReturn(items);
+        when(itemSearchCache.get(eq(text), eq(pageable), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<ItemDto>>>getArgument(2).get());
         List<ItemDto> expectedList = items.stream()
                 .map(itemMapper::toDTO)
                 .collect(Collectors.toList());
@@ -136,6 +197,165 @@ public class ItemServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void whenSearchByWordAbsentFromFilter_thenEngineIsNotQueried() {
+        when(itemSearchEngine.requiresAllWords()).thenReturn(true);
+        when(itemTermFilter.mightMatch("велосипед", false)).thenReturn(false);
+
+        List<ItemDto> result = itemService.searchBy("велосипед", 0, 10);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemSearchCache);
+        verify(itemSearchEngine, never()).search(any(), any());
+    }
+
+    @Test
+    void whenSearchAfter_thenReturnsPageWithEncodedCursor() {
+        Item item = new Item();
+        ItemDto itemDto = new ItemDto();
+        ItemSearchCursor next = ItemSearchCursor.after(5L);
+        when(itemSearchEngine.searchAfter("text", null, 1))
+                .thenReturn(new ItemSearchSlice(List.of(item), next));
+        when(itemMapper.toDTO(item)).thenReturn(itemDto);
+        when(itemSearchCache.getFirstPage(eq("text"), eq(1), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ItemPageDto>>getArgument(2).get());
+
+        ItemPageDto result = itemService.searchAfter("text", "", 1);
+
+        assertEquals(List.of(itemDto), result.getItems());
+        assertEquals(next.encode(), result.getNextCursor());
+    }
+
+    @Test
+    void whenSearchAfterCursor_thenCacheIsBypassed() {
+        ItemSearchCursor after = ItemSearchCursor.after(5L);
+        when(itemSearchEngine.searchAfter("text", after, 1))
+                .thenReturn(new ItemSearchSlice(List.of(), null));
+
+        ItemPageDto result = itemService.searchAfter("text", after.encode(), 1);
+
+        assertEquals(List.of(), result.getItems());
+        assertNull(result.getNextCursor());
+        verifyNoInteractions(itemSearchCache);
+    }
+
+    @Test
+    void whenStreamSearch_thenLikeWildcardsAreEscaped() {
+        ItemDto itemDto = new ItemDto();
+        when(itemRepository.streamAvailableByDescription("50!%!_!!")).thenReturn(Stream.of(itemDto));
+        List<ItemDto> result = new ArrayList<>();
+
+        itemService.streamSearch("50%_!").forEach(result::add);
+
+        assertEquals(List.of(itemDto), result);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void whenSearchAvailable_thenRepositoryFiltersByPeriod() {
+        LocalDateTime start = now.plusDays(1);
+        LocalDateTime end = now.plusDays(2);
+        Item item = new Item();
+        ItemDto itemDto = new ItemDto();
+        when(itemTermFilter.mightMatch("дрель")).thenReturn(true);
+        when(itemRepository.findAvailableBetween(eq("дрель"), eq(start), eq(end), any(), eq(PageRequest.of(0, 10))))
+                .thenReturn(List.of(item));
+        when(itemMapper.toDTO(item)).thenReturn(itemDto);
+
+        List<ItemDto> result = itemService.searchAvailable("дрель", start, end, 0, 10);
+
+        assertEquals(List.of(itemDto), result);
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    void whenFacets_thenTextIsMatchedByFacetIndex() {
+        ItemFacetsDto facets = new ItemFacetsDto(2, Map.of(true, 1L, false, 1L), Map.of(true, 0L, false, 2L), Map.of(1L, 2L));
+        when(itemFacetIndex.facets("дрелью", 10)).thenReturn(facets);
+
+        assertEquals(facets, itemService.facets("дрелью", null, null, 10));
+        verifyNoInteractions(itemSearchEngine, itemRepository);
+    }
+
+    @Test
+    void whenFacetsForPeriod_thenFreeItemsAreCounted() {
+        LocalDateTime start = now.plusDays(1);
+        LocalDateTime end = now.plusDays(2);
+        ItemFacetsDto facets = new ItemFacetsDto(1, Map.of(true, 1L, false, 0L), Map.of(true, 0L, false, 1L), Map.of(1L, 1L));
+        when(itemTermFilter.mightMatch("дрель")).thenReturn(true);
+        when(itemRepository.findAvailableIdsBetween(eq("дрель"), eq(start), eq(end), any())).thenReturn(List.of(3L));
+        when(itemFacetIndex.facets(aryEq(new int[]{3}), eq(10))).thenReturn(facets);
+
+        assertEquals(facets, itemService.facets("дрель", start, end, 10));
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    void whenSearchAvailableWithInvalidPeriod_thenThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> itemService.searchAvailable("дрель", now, null, 0, 10));
+        assertThrows(BadRequestException.class, () -> itemService.searchAvailable("дрель", now, now, 0, 10));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void whenAvailability_thenFreeIntervalsComeFromSchedule() {
+        List<IntervalDto> free = List.of(new IntervalDto(now, now.plusDays(1)));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingSchedule.freeIntervals(1L, now, now.plusDays(1))).thenReturn(free);
+
+        assertEquals(free, itemService.availability(1L, now, now.plusDays(1)));
+    }
+
+    @Test
+    void whenAvailabilityOfUnknownItem_thenThrowsNotFound() {
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.availability(1L, now, now.plusDays(1)));
+        assertThrows(BadRequestException.class, () -> itemService.availability(1L, now, now));
+        verifyNoInteractions(bookingSchedule);
+    }
+
+    @Test
+    void whenBulkAvailability_thenUnknownItemsAreSkippedAndWindowFlagIsSet() {
+        LocalDateTime end = now.plusDays(2);
+        when(itemRepository.findExistingIds(List.of(1L, 2L, 3L, 1L))).thenReturn(List.of(1L, 3L));
+        Map<Long, List<IntervalDto>> free = new LinkedHashMap<>();
+        free.put(1L, List.of(new IntervalDto(now, end)));
+        free.put(3L, List.of(new IntervalDto(now.plusDays(1), end)));
+        when(bookingSchedule.freeIntervals(List.of(1L, 3L), now, end)).thenReturn(free);
+
+        List<ItemAvailabilityDto> result = itemService.availability(new ItemAvailabilityRequestDto(List.of(1L, 2L, 3L, 1L), now, end));
+
+        assertEquals(List.of(new ItemAvailabilityDto(1L, true, free.get(1L)), new ItemAvailabilityDto(3L, false, free.get(3L))),
+                result);
+    }
+
+    @Test
+    void whenStreamAllItemsOwnerOfUnknownUser_thenThrowsBeforeStreaming() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.streamAllItemsOwner(1L));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void whenSuggestWithBlankPrefix_thenReturnsEmptyList() {
+        List<SuggestionDto> result = itemService.suggest(" ", 10);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void whenSuggest_thenReturnsCompletionsFromSuggester() {
+        CompletionTrie trie = new CompletionTrie();
+        trie.add("дрель", 2);
+        when(itemTermSuggester.suggest("дре", 10)).thenReturn(trie.complete("дре", 10));
+
+        List<SuggestionDto> result = itemService.suggest("дре", 10);
+
+        assertEquals(List.of(new SuggestionDto("дрель", 2)), result);
+    }
+
     @Test
     void whenUserExists_thenNoExceptionThrown() {
         Long userId = 1L;
@@ -143,4 +363,47 @@ public class ItemServiceTest {
 
         assertDoesNotThrow(() -> userRepository.existsById(userId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenOwnerFindsItem_thenLastAndNextBookingsComeFromSummary() {
+        Item item = Item.builder().id(5L).owner(new User(1L, "Owner", "owner@example.com")).build();
+        ItemOutDto itemOutDto = ItemOutDto.builder().id(5L).build();
+        when(itemRepository.findById(5L)).thenReturn(Optional.of(item));
+        when(itemMapper.toOutDTO(item)).thenReturn(itemOutDto);
+
+        itemService.findById(1L, 5L);
+
+        verify(itemBookingSummaries).apply(eq(List.of(itemOutDto)), any());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void whenNotOwnerFindsItem_thenBookingsAreNotRead() {
+        Item item = Item.builder().id(5L).owner(new User(1L, "Owner", "owner@example.com")).build();
+        when(itemRepository.findById(5L)).thenReturn(Optional.of(item));
+        when(itemMapper.toOutDTO(item)).thenReturn(new ItemOutDto());
+
+        ItemOutDto result = itemService.findById(2L, 5L);
+
+        assertNull(result.getLastBooking());
+        assertNull(result.getNextBooking());
+        verifyNoInteractions(itemBookingSummaries, bookingRepository);
+    }
+
+    @Test
+    void whenGetAllItemsOwner_thenSummariesAreAppliedToWholePage() {
+        Item drill = Item.builder().id(5L).build();
+        Item saw = Item.builder().id(6L).build();
+        List<ItemOutDto> page = List.of(ItemOutDto.builder().id(5L).build(), ItemOutDto.builder().id(6L).build());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.findAllByOwner_IdOrderById(1L, PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(drill, saw)));
+        when(itemMapper.toListOutDTO(List.of(drill, saw))).thenReturn(page);
+
+        List<ItemOutDto> result = itemService.getAllItemsOwner(1L, 0, 10).getContent();
+
+        assertEquals(page, result);
+        verify(itemBookingSummaries).apply(eq(page), any());
+        verifyNoInteractions(bookingRepository);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.listing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ListingTotalsTest {
+
+    @Test
+    void whenTotalRequestedTwice_thenCountRunsOnce() {
+        ListingTotals totals = new ListingTotals(Duration.ofMinutes(1), 100);
+        AtomicInteger counts = new AtomicInteger();
+
+        assertEquals(5, totals.get("items:owner:1", () -> 5 + counts.getAndIncrement()));
+        assertEquals(5, totals.get("items:owner:1", () -> 5 + counts.getAndIncrement()));
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void whenKeysDiffer_thenTotalsAreCountedSeparately() {
+        ListingTotals totals = new ListingTotals(Duration.ofMinutes(1), 100);
+
+        assertEquals(1, totals.get("items:owner:1", () -> 1));
+        assertEquals(2, totals.get("items:owner:2", () -> 2));
+    }
+
+    @Test
+    void whenTotalExpired_thenCountRunsAgain() {
+        ListingTotals totals = new ListingTotals(Duration.ZERO, 100);
+
+        assertEquals(1, totals.get("requests:all:1", () -> 1));
+        assertEquals(2, totals.get("requests:all:1", () -> 2));
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingShortOutDto;
 import ru.practicum.shareit.item.dto.CommentOutDto;
@@ -22,8 +24,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.item.constant.ItemConstants.X_SHARER_USER_ID;
+import static ru.practicum.shareit.listing.ListingResponses.X_HAS_NEXT;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -131,7 +136,7 @@ class RequestControllerTest {
     void findByAllTest() {
         long userId = 1L;
         when(requestService.findByAll(userId, 0, 20))
-                .thenReturn(List.of(requestDto));
+                .thenReturn(new SliceImpl<>(List.of(requestDto)));
         String result = mockMvc.perform(get("/requests/all")
                         .header(X_SHARER_USER_ID, 1))
                 .andExpect(status().isBadRequest())
@@ -158,4 +163,31 @@ class RequestControllerTest {
 
         assertEquals(objectMapper.writeValueAsString(requestDto), result);
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    void findByAllWithPageTest() {
+        when(requestService.findByAll(1L, 0, 1))
+                .thenReturn(new SliceImpl<>(List.of(requestDto), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/requests/all")
+                        .header(X_SHARER_USER_ID, 1)
+                        .param("from", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(X_HAS_NEXT, "true"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @SneakyThrows
+    @Test
+    void countByAllTest() {
+        when(requestService.countByAll(1L))
+                .thenReturn(7L);
+
+        mockMvc.perform(get("/requests/all/total")
+                        .header(X_SHARER_USER_ID, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(7));
+    }
+}
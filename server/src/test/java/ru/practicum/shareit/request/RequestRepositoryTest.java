@@ -4,8 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
@@ -51,9 +52,11 @@ class RequestRepositoryTest {
 
         PageRequest pageable = PageRequest.of(0, 10);
 
-        Page<Request> requestsPage = requestRepository.findAllByRequesterNotOrderByCreatedDesc(requester, pageable);
+        Slice<Request> requestsPage = requestRepository.findAllByRequesterNotOrderByCreatedDesc(requester, pageable);
 
-        assertEquals(1, requestsPage.getTotalElements());
+        assertEquals(1, requestsPage.getNumberOfElements());
+        assertFalse(requestsPage.hasNext());
+        assertEquals(1, requestRepository.countByRequesterNot(requester));
     }
 
     @Test
@@ -11,6 +11,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -144,9 +146,10 @@ class RequestServiceTest {
                 .thenReturn(new PageImpl<>(List.of(request)));
         when(mapper.toDTO(any(Request.class))).thenReturn(requestDto);
 
-        List<RequestDto> result = requestService.findByAll(userId, from, size);
+        Slice<RequestDto> result = requestService.findByAll(userId, from, size);
 
-        assertEquals(List.of(requestDto), result);
+        assertEquals(List.of(requestDto), result.getContent());
+        assertFalse(result.hasNext());
     }
 
     @Test
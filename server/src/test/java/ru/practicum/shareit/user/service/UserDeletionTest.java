@@ -0,0 +1,85 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class UserDeletionTest {
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(3).withNano(0);
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void whenBookerDeleted_thenSlotCanBeBookedAgain() {
+        User owner = userRepository.save(User.builder().name("owner").email("deletion-owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("deletion-booker@example.com").build());
+        User other = userRepository.save(User.builder().name("other").email("deletion-other@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Дрель ударная")
+                .available(true)
+                .owner(owner)
+                .build());
+        BookingDto slot = BookingDto.builder()
+                .itemId(item.getId())
+                .start(START)
+                .end(START.plusDays(1))
+                .build();
+        BookingOutDto first = bookingService.saveBooking(booker.getId(), slot);
+        bookingService.updateBooking(owner.getId(), first.getId(), true);
+
+        userService.delete(booker.getId());
+
+        BookingOutDto second = bookingService.saveBooking(other.getId(), slot);
+        assertEquals(Status.WAITING, second.getStatus());
+    }
+
+    @Test
+    void whenBookerDeleted_thenItemSummaryForgetsTheirBooking() {
+        User owner = userRepository.save(User.builder().name("owner").email("summary-owner@example.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("summary-booker@example.com").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Пила")
+                .description("Пила циркулярная")
+                .available(true)
+                .owner(owner)
+                .build());
+        BookingOutDto booking = bookingService.saveBooking(booker.getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(START)
+                .end(START.plusDays(1))
+                .build());
+        bookingService.updateBooking(owner.getId(), booking.getId(), true);
+        assertEquals(booking.getId(), itemService.findById(owner.getId(), item.getId()).getNextBooking().getId());
+
+        userService.delete(booker.getId());
+
+        assertNull(itemService.findById(owner.getId(), item.getId()).getNextBooking());
+    }
+}
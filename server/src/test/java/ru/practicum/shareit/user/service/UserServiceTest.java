@@ -4,19 +4,34 @@ import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.schedule.BookingDeletedEvent;
+import ru.practicum.shareit.booking.schedule.BookingSchedule;
+import ru.practicum.shareit.booking.schedule.ItemBookingLocks;
+import ru.practicum.shareit.booking.summary.ItemBookingSummaries;
 import ru.practicum.shareit.exception.ValidEmailException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -30,6 +45,21 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ItemBookingLocks itemBookingLocks;
+
+    @Mock
+    private ItemBookingSummaries itemBookingSummaries;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -100,10 +130,48 @@ class UserServiceTest {
     @SneakyThrows
     @Test
     void delete() {
+        ItemDto item = new ItemDto(3L, "Дрель", "Дрель ударная", true, 1L, null);
+        when(itemRepository.streamAllByOwner(1L)).thenReturn(Stream.of(item));
+
         userService.delete(1L);
+
+        ArgumentCaptor<ItemChangedEvent> event = ArgumentCaptor.forClass(ItemChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(item, event.getValue().getPrevious());
+        assertNull(event.getValue().getCurrent());
         verify(userRepository).deleteById(1L);
     }
 
+    @Test
+    void delete_thenOpenBookingsAreDroppedFromSchedule() {
+        BookingDto booking = new BookingDto(5L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                3L, 1L, Status.APPROVED);
+        when(itemRepository.streamAllByOwner(1L)).thenReturn(Stream.empty());
+        when(bookingRepository.findActiveByParticipant(eq(1L), eq(BookingSchedule.BLOCKING_STATUSES), any()))
+                .thenReturn(List.of(booking));
+
+        userService.delete(1L);
+
+        ArgumentCaptor<BookingDeletedEvent> event = ArgumentCaptor.forClass(BookingDeletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(booking, event.getValue().getBooking());
+        verify(userRepository).deleteById(1L);
+    }
+
+    @Test
+    void delete_thenSummariesOfBookedItemsAreRecomputed() {
+        when(bookingRepository.findBookedItemIdsByBooker(1L)).thenReturn(List.of(3L, 4L));
+        when(itemRepository.streamAllByOwner(1L)).thenReturn(Stream.empty());
+
+        userService.delete(1L);
+
+        InOrder inOrder = inOrder(itemBookingLocks, userRepository, itemBookingSummaries);
+        inOrder.verify(itemBookingLocks).lockAllUntilCompletion(List.of(3L, 4L));
+        inOrder.verify(userRepository).deleteById(1L);
+        inOrder.verify(userRepository).flush();
+        inOrder.verify(itemBookingSummaries).refresh(eq(List.of(3L, 4L)), any());
+    }
+
     @SneakyThrows
     @Test
     void updateUser() {